@@ -0,0 +1,58 @@
+package com.parabank.api;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.http.Cookie;
+import io.restassured.response.Response;
+import com.parabank.config.ConfigReader;
+import com.parabank.replay.RecordReplayProxy;
+import com.parabank.utils.LogUtils;
+
+/**
+ * HTTP client for authenticating against ParaBank without driving the browser
+ */
+public class AuthClient {
+    public static final String SESSION_COOKIE = "JSESSIONID";
+
+    /**
+     * Post the login form over HTTP and return the authenticated session cookie
+     *
+     * @param username Username
+     * @param password Password
+     * @return JSESSIONID cookie of the authenticated session
+     * @throws IllegalStateException if ParaBank rejects the credentials
+     */
+    public static Cookie login(String username, String password) {
+        long start = System.currentTimeMillis();
+        Response response = RestAssured.given()
+            .baseUri(getBaseUrl())
+            .headers(RecordReplayProxy.scenarioHeaders())
+            .redirects().follow(false)
+            .contentType(ContentType.URLENC)
+            .formParam("username", username)
+            .formParam("password", password)
+            .post("login.htm");
+
+        Cookie sessionCookie = response.getDetailedCookie(SESSION_COOKIE);
+        String location = response.getHeader("Location");
+        boolean redirectedToOverview = response.getStatusCode() / 100 == 3
+            && location != null && location.contains("overview.htm");
+        if (sessionCookie == null || !redirectedToOverview) {
+            throw new IllegalStateException("API login failed for user '" + username + "' (HTTP "
+                + response.getStatusCode() + ")");
+        }
+
+        LogUtils.info("API login for {} took {}ms", username, System.currentTimeMillis() - start);
+        return sessionCookie;
+    }
+
+    /**
+     * Get application base URL, always ending with a slash
+     *
+     * @return Base URL
+     */
+    public static String getBaseUrl() {
+        String baseUrl = ConfigReader.get().getBaseUrl();
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+}
@@ -0,0 +1,200 @@
+package com.parabank.api;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.http.Cookie;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import com.parabank.replay.RecordReplayProxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP client for ParaBank without a browser: the login and registration forms (*.htm, with the session
+ * cookie they set) and the JSON banking services under services/bank/. One instance per scenario or
+ * virtual user; not thread-safe.
+ */
+public class ParaBankClient {
+    private static final String SERVICES_PATH = "services/bank/";
+    private static final List<String> ACCOUNT_TYPES = List.of("CHECKING", "SAVINGS", "LOAN");
+    // Balances and amounts as BigDecimal, not float
+    private static final JsonPathConfig JSON = JsonPathConfig.jsonPathConfig()
+        .numberReturnType(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+
+    private final String baseUrl;
+    private String sessionId;
+    private Response lastResponse;
+
+    public ParaBankClient() {
+        this(AuthClient.getBaseUrl());
+    }
+
+    /**
+     * @param baseUrl Application base URL, ending with a slash
+     */
+    public ParaBankClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * GET a page with the current session
+     *
+     * @param page Page relative to the base URL, e.g. overview.htm
+     * @return Response; redirects are not followed
+     */
+    public Response openPage(String page) {
+        return remember(request().get(page));
+    }
+
+    /**
+     * POST a form with the current session and keep the session cookie it sets
+     *
+     * @param page Form action relative to the base URL
+     * @param fields Field names and values
+     * @return Response; redirects are not followed
+     */
+    public Response submitForm(String page, Map<String, String> fields) {
+        Response response = request()
+            .contentType(ContentType.URLENC)
+            .formParams(fields)
+            .post(page);
+        Cookie cookie = response.getDetailedCookie(AuthClient.SESSION_COOKIE);
+        if (cookie != null) {
+            sessionId = cookie.getValue();
+        }
+        return remember(response);
+    }
+
+    /**
+     * Post the login form
+     *
+     * @return Response: a redirect to overview.htm on success, the login page with an error otherwise
+     */
+    public Response login(String username, String password) {
+        return submitForm("login.htm", Map.of("username", username, "password", password));
+    }
+
+    /**
+     * Continue an existing session, e.g. one from {@link SessionCache}
+     *
+     * @param cookie JSESSIONID cookie
+     */
+    public void useSession(Cookie cookie) {
+        sessionId = cookie.getValue();
+    }
+
+    /**
+     * @return Last form or page response, or null before the first one
+     */
+    public Response getLastResponse() {
+        return lastResponse;
+    }
+
+    /**
+     * Texts of the error elements (class="error") of a page, the messages the browser would show
+     *
+     * @param page Page response
+     * @return Error texts, empty if there are none
+     */
+    public static List<String> errors(Response page) {
+        return page.htmlPath().getList("**.findAll { it.@class == 'error' }", String.class);
+    }
+
+    /**
+     * Look a customer up by credentials
+     *
+     * @return Customer (id, firstName, lastName, ...)
+     * @throws IllegalStateException if the credentials are rejected
+     */
+    public Map<String, Object> customer(String username, String password) {
+        return service(request().get(SERVICES_PATH + "login/{username}/{password}", username, password)).jsonPath(JSON).getMap("");
+    }
+
+    /**
+     * @return Accounts of a customer (id, customerId, type, balance)
+     */
+    public List<Map<String, Object>> accounts(long customerId) {
+        return service(request().get(SERVICES_PATH + "customers/{customerId}/accounts", customerId)).jsonPath(JSON).getList("");
+    }
+
+    /**
+     * @return Account (id, customerId, type, balance)
+     */
+    public Map<String, Object> account(long accountId) {
+        return service(request().get(SERVICES_PATH + "accounts/{accountId}", accountId)).jsonPath(JSON).getMap("");
+    }
+
+    /**
+     * @return Transactions of an account (type Debit/Credit, amount, description, ...)
+     */
+    public List<Map<String, Object>> transactions(long accountId) {
+        return service(request().get(SERVICES_PATH + "accounts/{accountId}/transactions", accountId)).jsonPath(JSON).getList("");
+    }
+
+    /**
+     * Open an account funded from an existing account of the customer
+     *
+     * @param type CHECKING, SAVINGS or LOAN
+     * @return New account
+     */
+    public Map<String, Object> createAccount(long customerId, String type, long fromAccountId) {
+        int newAccountType = ACCOUNT_TYPES.indexOf(type.toUpperCase());
+        if (newAccountType < 0) {
+            throw new IllegalArgumentException("Unknown account type: " + type);
+        }
+        return service(request()
+            .queryParam("customerId", customerId)
+            .queryParam("newAccountType", newAccountType)
+            .queryParam("fromAccountId", fromAccountId)
+            .post(SERVICES_PATH + "createAccount")).jsonPath(JSON).getMap("");
+    }
+
+    /**
+     * Transfer funds between two accounts
+     *
+     * @return Service message, e.g. "Successfully transferred $500.00 from account #13344 to account #13345"
+     */
+    public String transfer(long fromAccountId, long toAccountId, BigDecimal amount) {
+        return service(request()
+            .queryParam("fromAccountId", fromAccountId)
+            .queryParam("toAccountId", toAccountId)
+            .queryParam("amount", amount.toPlainString())
+            .post(SERVICES_PATH + "transfer")).asString();
+    }
+
+    /**
+     * Deposit money into an account
+     *
+     * @return Service message, e.g. "Successfully deposited $500.00 to account #13344"
+     */
+    public String deposit(long accountId, BigDecimal amount) {
+        return service(request()
+            .queryParam("accountId", accountId)
+            .queryParam("amount", amount.toPlainString())
+            .post(SERVICES_PATH + "deposit")).asString();
+    }
+
+    private RequestSpecification request() {
+        RequestSpecification request = RestAssured.given()
+            .baseUri(baseUrl)
+            .headers(RecordReplayProxy.scenarioHeaders())
+            .accept("application/json, text/html;q=0.9, */*;q=0.8")
+            .redirects().follow(false);
+        return sessionId == null ? request : request.cookie(AuthClient.SESSION_COOKIE, sessionId);
+    }
+
+    private Response remember(Response response) {
+        lastResponse = response;
+        return response;
+    }
+
+    private static Response service(Response response) {
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException("ParaBank service call failed (HTTP " + response.getStatusCode() + "): "
+                + response.asString());
+        }
+        return response;
+    }
+}
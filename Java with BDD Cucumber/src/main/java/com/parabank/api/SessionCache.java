@@ -0,0 +1,220 @@
+package com.parabank.api;
+
+import io.restassured.RestAssured;
+import io.restassured.http.Cookie;
+import io.restassured.response.Response;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.replay.RecordReplayProxy;
+import com.parabank.utils.LogUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of authenticated ParaBank sessions keyed by username.
+ * Entries expire after a TTL, the cache is bounded in size, and an entry is validated with a cheap
+ * authenticated GET before it is handed out again. Passwords are only kept as salted SHA-256 hashes
+ * (random salt per process) to recognise a changed password on lookup.
+ * <p>
+ * One JSESSIONID is handed to every scenario of the same user, parallel ones included. A scenario that
+ * ends the session (logout, password change) breaks the others until they revalidate: it must call
+ * {@link #invalidate(String)}, and such scenarios should log in through the UI or run with
+ * sessionCache.enabled=false.
+ */
+public class SessionCache {
+    private static final Config.Sessions CONFIG = ConfigReader.get().sessions();
+    private static final long TTL_MILLIS = CONFIG.getTtl().toMillis();
+    private static final long REVALIDATE_MILLIS = CONFIG.getRevalidateAfter().toMillis();
+    private static final int MAX_ENTRIES = CONFIG.getMaxEntries();
+    private static final byte[] SALT = salt();
+
+    private static final Map<String, CachedSession> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, Object> loginLocks = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong expiredEvictions = new AtomicLong();
+    private static final AtomicLong invalidEvictions = new AtomicLong();
+    private static final AtomicLong sizeEvictions = new AtomicLong();
+
+    /**
+     * Check whether authenticated sessions may be shared between scenarios
+     *
+     * @return true if the cache is enabled in config
+     */
+    public static boolean isEnabled() {
+        return CONFIG.isEnabled();
+    }
+
+    /**
+     * Get a valid session for the user, logging in over HTTP only if no reusable session is cached
+     *
+     * @param username Username
+     * @param password Password
+     * @return Authenticated session cookie
+     */
+    public static Cookie getSession(String username, String password) {
+        if (!isEnabled()) {
+            return AuthClient.login(username, password);
+        }
+
+        // One login per user at a time; other users are not blocked
+        synchronized (loginLocks.computeIfAbsent(username, key -> new Object())) {
+            Optional<Cookie> cached = lookup(username, password);
+            if (cached.isPresent()) {
+                hits.incrementAndGet();
+                return cached.get();
+            }
+
+            misses.incrementAndGet();
+            Cookie cookie = AuthClient.login(username, password);
+            sessions.put(username, new CachedSession(cookie, hash(password)));
+            evictOverflow();
+            return cookie;
+        }
+    }
+
+    /**
+     * Drop the cached session of a user, e.g. after logging out
+     *
+     * @param username Username
+     */
+    public static void invalidate(String username) {
+        if (sessions.remove(username) != null) {
+            invalidEvictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get number of logins avoided by reusing a cached session
+     *
+     * @return Cache hits
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get number of logins performed because no reusable session was cached
+     *
+     * @return Cache misses
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get number of sessions evicted for any reason (expired, invalid, size bound)
+     *
+     * @return Evictions
+     */
+    public static long getEvictions() {
+        return expiredEvictions.get() + invalidEvictions.get() + sizeEvictions.get();
+    }
+
+    /**
+     * Log hit/miss/eviction counters
+     */
+    public static void logStatistics() {
+        LogUtils.info("Session cache: hits (logins avoided)={}, misses={}, evictions={} (expired={}, invalid={}, size={})",
+            hits.get(), misses.get(), getEvictions(), expiredEvictions.get(), invalidEvictions.get(), sizeEvictions.get());
+    }
+
+    private static Optional<Cookie> lookup(String username, String password) {
+        CachedSession session = sessions.get(username);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        if (now - session.createdAt > TTL_MILLIS) {
+            sessions.remove(username, session);
+            expiredEvictions.incrementAndGet();
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(session.passwordHash, hash(password))) {
+            sessions.remove(username, session);
+            invalidEvictions.incrementAndGet();
+            return Optional.empty();
+        }
+        if (now - session.validatedAt > REVALIDATE_MILLIS) {
+            if (!isAuthenticated(session.cookie)) {
+                sessions.remove(username, session);
+                invalidEvictions.incrementAndGet();
+                return Optional.empty();
+            }
+            session.validatedAt = now;
+        }
+        return Optional.of(session.cookie);
+    }
+
+    /**
+     * Cheap authenticated GET: a live session sees the overview page with a logout link
+     */
+    private static boolean isAuthenticated(Cookie cookie) {
+        try {
+            Response response = RestAssured.given()
+                .baseUri(AuthClient.getBaseUrl())
+                .headers(RecordReplayProxy.scenarioHeaders())
+                .redirects().follow(false)
+                .cookie(AuthClient.SESSION_COOKIE, cookie.getValue())
+                .get("overview.htm");
+            return response.getStatusCode() == 200 && response.asString().contains("logout.htm");
+        } catch (RuntimeException e) {
+            LogUtils.warn("Session validation failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static byte[] salt() {
+        byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    private static byte[] hash(String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(SALT);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void evictOverflow() {
+        while (sessions.size() > MAX_ENTRIES) {
+            Optional<Map.Entry<String, CachedSession>> oldest = sessions.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().createdAt));
+            if (oldest.isEmpty()) {
+                return;
+            }
+            if (sessions.remove(oldest.get().getKey(), oldest.get().getValue())) {
+                sizeEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Authenticated session with its bookkeeping timestamps
+     */
+    private static class CachedSession {
+        private final Cookie cookie;
+        private final byte[] passwordHash;
+        private final long createdAt;
+        private volatile long validatedAt;
+
+        private CachedSession(Cookie cookie, byte[] passwordHash) {
+            this.cookie = cookie;
+            this.passwordHash = passwordHash;
+            this.createdAt = System.currentTimeMillis();
+            this.validatedAt = createdAt;
+        }
+    }
+}
@@ -2,26 +2,62 @@ package com.parabank.base;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.Select;
-import java.time.Duration;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.devtools.NetworkRecorder;
+import com.parabank.utils.ExecutionContext;
+import com.parabank.utils.LogUtils;
+import com.parabank.utils.ScenarioContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Base class containing common WebDriver actions and utilities
  */
 public class BaseClass {
     protected WebDriver driver;
-    protected WebDriverWait wait;
-    private static final long TIMEOUT = 10;
+    private static final long QUIET_PERIOD_MILLIS = ConfigReader.get().waits().getQuietPeriod().toMillis();
+    private static final AtomicLong savedWaitMillis = new AtomicLong();
+    private static final AtomicLong fastChecks = new AtomicLong();
 
     /**
-     * Initialize driver and wait
+     * Sets the values of many fields in one script: locate each field, set its value through the
+     * native setter (so framework-bound inputs notice) and fire input/change events.
+     * Returns the selectors that could not be found.
+     */
+    private static final String BULK_FILL_SCRIPT =
+        "var fields = arguments[0], missing = [];"
+        + "for (var i = 0; i < fields.length; i++) {"
+        + "  var f = fields[i], el = null;"
+        + "  if (f.strategy === 'id') { el = document.getElementById(f.selector); }"
+        + "  else if (f.strategy === 'name') { el = document.getElementsByName(f.selector)[0] || null; }"
+        + "  else if (f.strategy === 'css') { el = document.querySelector(f.selector); }"
+        + "  else if (f.strategy === 'xpath') { el = document.evaluate(f.selector, document, null,"
+        + "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; }"
+        + "  if (!el) { missing.push(f.selector); continue; }"
+        + "  var proto = Object.getPrototypeOf(el);"
+        + "  var descriptor = proto && Object.getOwnPropertyDescriptor(proto, 'value');"
+        + "  if (el.focus) { el.focus(); }"
+        + "  if (descriptor && descriptor.set) { descriptor.set.call(el, f.value); } else { el.value = f.value; }"
+        + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+        + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+        + "  if (el.blur) { el.blur(); }"
+        + "}"
+        + "return missing;";
+
+    /**
+     * Initialize driver. Waits go through the shared WaitEngine, so nothing else is allocated per page.
      *
      * @param driver WebDriver instance
      */
     public void setDriver(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT));
     }
 
     /**
@@ -30,7 +66,13 @@ public class BaseClass {
      * @param url URL to navigate
      */
     protected void navigateToUrl(String url) {
-        driver.navigate().to(url);
+        trackPage();
+        NetworkRecorder.Action action = NetworkRecorder.startAction(driver, "navigate", url);
+        try {
+            driver.navigate().to(url);
+        } finally {
+            action.end();
+        }
     }
 
     /**
@@ -40,7 +82,8 @@ public class BaseClass {
      * @return WebElement
      */
     protected WebElement findElement(By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        trackPage();
+        return WaitEngine.until(driver, waitKey(locator), ExpectedConditions.presenceOfElementLocated(locator));
     }
 
     /**
@@ -49,8 +92,14 @@ public class BaseClass {
      * @param locator By locator
      */
     protected void clickElement(By locator) {
-        WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
-        element.click();
+        trackPage();
+        WebElement element = WaitEngine.until(driver, waitKey(locator), ExpectedConditions.elementToBeClickable(locator));
+        NetworkRecorder.Action action = NetworkRecorder.startAction(driver, "click", locator.toString());
+        try {
+            element.click();
+        } finally {
+            action.end();
+        }
     }
 
     /**
@@ -65,6 +114,108 @@ public class BaseClass {
         element.sendKeys(text);
     }
 
+    /**
+     * Fill several fields at once.
+     * By default all values are set in a single JavaScript call that fires input/change events;
+     * with fillMode=keys in config (or the @realTyping scenario tag) each field is typed with real keystrokes.
+     *
+     * @param fieldValues Field locators mapped to the text to enter, in fill order
+     */
+    protected void fillFields(Map<By, String> fieldValues) {
+        if (fieldValues.isEmpty()) {
+            return;
+        }
+        if (!isScriptFillEnabled()) {
+            fieldValues.forEach(this::typeText);
+            return;
+        }
+
+        List<Map<String, String>> scriptFields = new ArrayList<>();
+        for (Map.Entry<By, String> field : fieldValues.entrySet()) {
+            String[] strategy = toScriptStrategy(field.getKey());
+            if (strategy == null) {
+                // Locator type the script cannot resolve, type it the regular way
+                typeText(field.getKey(), field.getValue());
+                continue;
+            }
+            Map<String, String> scriptField = new HashMap<>();
+            scriptField.put("strategy", strategy[0]);
+            scriptField.put("selector", strategy[1]);
+            scriptField.put("value", field.getValue());
+            scriptFields.add(scriptField);
+        }
+        if (scriptFields.isEmpty()) {
+            return;
+        }
+
+        // A single wait for the form to be present, then one round trip for all fields
+        findElement(fieldValues.keySet().iterator().next());
+        Object missing = ((JavascriptExecutor) driver).executeScript(BULK_FILL_SCRIPT, scriptFields);
+        if (missing instanceof Collection && !((Collection<?>) missing).isEmpty()) {
+            throw new NoSuchElementException("Fields not found while filling form: " + missing);
+        }
+    }
+
+    /**
+     * Check whether form fields are set by script rather than typed key by key
+     *
+     * @return true unless real typing is requested by tag or config
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean isScriptFillEnabled() {
+        Collection<String> tags = (Collection<String>) ScenarioContext.getScenarioContext("scenarioTags");
+        if (tags != null && tags.contains("@realTyping")) {
+            return false;
+        }
+        return ConfigReader.get().getFillMode() == Config.FillMode.SCRIPT;
+    }
+
+    /**
+     * Attribute the running step to this page object, for the per page step timings (StepTimingPlugin)
+     */
+    private void trackPage() {
+        ExecutionContext.addPage(getClass().getSimpleName());
+    }
+
+    /**
+     * Statistics key of a wait: page class and locator, so a generic locator (By.cssSelector: p) learns a
+     * separate timeout on every page it is used on
+     */
+    private String waitKey(By locator) {
+        return getClass().getSimpleName() + " " + locator;
+    }
+
+    /**
+     * Translate a locator into a lookup the bulk fill script understands
+     *
+     * @param locator By locator
+     * @return {strategy, selector}, or null if the locator type is not supported
+     */
+    private static String[] toScriptStrategy(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return null;
+        }
+        String selector = description.substring(separator + 2);
+        switch (description.substring(0, separator)) {
+            case "By.id":
+                return new String[] {"id", selector};
+            case "By.name":
+                return new String[] {"name", selector};
+            case "By.cssSelector":
+                return new String[] {"css", selector};
+            case "By.xpath":
+                return new String[] {"xpath", selector};
+            case "By.className":
+                return new String[] {"css", "." + selector};
+            case "By.tagName":
+                return new String[] {"css", selector};
+            default:
+                return null;
+        }
+    }
+
     /**
      * Get text from element
      *
@@ -89,13 +240,92 @@ public class BaseClass {
         }
     }
 
+    /**
+     * Check right now whether an element is present, without waiting.
+     * Relies on the implicit wait being 0 (DriverFactory never sets one).
+     *
+     * @param locator By locator
+     * @return true if at least one matching element is in the DOM
+     */
+    protected boolean isElementPresentNow(By locator) {
+        trackPage();
+        long start = System.currentTimeMillis();
+        boolean present = !driver.findElements(locator).isEmpty();
+        if (!present) {
+            recordSavedWait(start, WaitEngine.timeoutMillis(waitKey(locator)));
+        }
+        return present;
+    }
+
+    /**
+     * Check right now whether an element is absent, without waiting
+     *
+     * @param locator By locator
+     * @return true if no matching element is in the DOM
+     */
+    protected boolean isElementAbsentNow(By locator) {
+        return !isElementPresentNow(locator);
+    }
+
+    /**
+     * Wait until any one of several elements is displayed, so outcome checks resolve as soon as the page settles.
+     * The first locator is the one the caller is interested in: resolving on another one counts as
+     * wait time saved compared with letting the first one time out.
+     *
+     * @param locators Locators to watch, in priority order
+     * @return Index of the first displayed locator, or -1 if none appeared before the timeout
+     */
+    protected int waitForAnyElement(By... locators) {
+        trackPage();
+        long start = System.currentTimeMillis();
+        String key = getClass().getSimpleName() + " any of " + Arrays.toString(locators);
+        int index;
+        try {
+            index = WaitEngine.until(driver, key, webDriver -> {
+                for (int i = 0; i < locators.length; i++) {
+                    for (WebElement element : webDriver.findElements(locators[i])) {
+                        try {
+                            if (element.isDisplayed()) {
+                                return i;
+                            }
+                        } catch (StaleElementReferenceException e) {
+                            // Page changed under us, check again on next poll
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (TimeoutException e) {
+            index = -1;
+        }
+        if (index > 0) {
+            recordSavedWait(start, WaitEngine.timeoutMillis(waitKey(locators[0])));
+        }
+        return index;
+    }
+
+    /**
+     * Log how much wait time the fast presence checks saved compared with full timeouts
+     */
+    public static void logWaitSavings() {
+        LogUtils.info("Fast presence checks: {} negative results, saved ~{}ms of timeouts",
+            fastChecks.get(), savedWaitMillis.get());
+    }
+
+    private static void recordSavedWait(long startMillis, long timeoutMillis) {
+        long elapsed = System.currentTimeMillis() - startMillis;
+        fastChecks.incrementAndGet();
+        savedWaitMillis.addAndGet(Math.max(0, timeoutMillis - elapsed));
+    }
+
     /**
      * Wait for element visibility
      *
      * @param locator By locator
      */
     protected void waitForElementVisibility(By locator) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        trackPage();
+        WaitEngine.until(driver, waitKey(locator), ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     /**
@@ -104,7 +334,16 @@ public class BaseClass {
      * @param locator By locator
      */
     protected void waitForElementInvisibility(By locator) {
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        trackPage();
+        WaitEngine.until(driver, waitKey(locator) + " invisible", ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Wait until the page has finished loading and background requests (e.g. AJAX form posts) are done
+     */
+    protected void waitForPageToSettle() {
+        trackPage();
+        WaitEngine.untilPageSettled(driver, QUIET_PERIOD_MILLIS);
     }
 
     /**
@@ -137,6 +376,7 @@ public class BaseClass {
      * @return Page title
      */
     protected String getPageTitle() {
+        trackPage();
         return driver.getTitle();
     }
 
@@ -146,6 +386,7 @@ public class BaseClass {
      * @return Current URL
      */
     protected String getCurrentUrl() {
+        trackPage();
         return driver.getCurrentUrl();
     }
 }
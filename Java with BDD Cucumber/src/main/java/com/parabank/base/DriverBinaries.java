@@ -0,0 +1,226 @@
+package com.parabank.base;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LogUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves driver binaries (chromedriver, geckodriver, msedgedriver) once per JVM.
+ * <p>
+ * Lookup order for a browser with detected major version {@code N}:
+ * <ol>
+ *     <li>pre-provisioned binaries in driver.binaryDir: {@code <dir>/N/<driver>}, then {@code <dir>/<driver>}</li>
+ *     <li>the on-disk cache: {@code manifest.properties} in driver.cacheDir maps {@code <browser>.N} to a
+ *         previously resolved binary</li>
+ *     <li>WebDriverManager download into driver.cacheDir, recorded in the manifest (skipped when
+ *         driver.offline=true, which fails instead)</li>
+ * </ol>
+ * {@link #resolveInBackground(Config.Browser)} starts this on a daemon thread so it overlaps with
+ * suite startup; {@link #get(Config.Browser)} waits for the result.
+ */
+public class DriverBinaries {
+    private static final String MANIFEST = "manifest.properties";
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+
+    private static final Map<Config.Browser, CompletableFuture<Path>> resolutions = new ConcurrentHashMap<>();
+    private static final Object manifestLock = new Object();
+
+    /**
+     * Start resolving the driver binary of a browser without waiting for it
+     *
+     * @param browser Browser
+     */
+    public static void resolveInBackground(Config.Browser browser) {
+        if (browser == Config.Browser.LITE) {
+            // In-process browser: no binary, real browsers of @realBrowser scenarios resolve on first use
+            return;
+        }
+        resolution(browser);
+    }
+
+    /**
+     * Get the driver binary of a browser, resolving it on first use
+     *
+     * @param browser Browser
+     * @return Path of the driver executable
+     * @throws IllegalStateException if no binary could be resolved
+     */
+    public static Path get(Config.Browser browser) {
+        try {
+            return resolution(browser).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static CompletableFuture<Path> resolution(Config.Browser browser) {
+        return resolutions.computeIfAbsent(browser, key -> CompletableFuture.supplyAsync(() -> resolve(key), task -> {
+            Thread thread = new Thread(task, "driver-resolution-" + key.name().toLowerCase(Locale.ROOT));
+            thread.setDaemon(true);
+            thread.start();
+        }));
+    }
+
+    private static Path resolve(Config.Browser browser) {
+        long start = System.nanoTime();
+        Config.Driver config = ConfigReader.get().driver();
+        String driverName = driverName(browser);
+        Optional<String> majorVersion = detectMajorVersion(browser);
+
+        Optional<Path> provisioned = provisioned(config.getBinaryDir(), driverName, majorVersion);
+        if (provisioned.isPresent()) {
+            return resolved(browser, provisioned.get(), "pre-provisioned", start);
+        }
+        if (majorVersion.isPresent()) {
+            Optional<Path> cached = fromManifest(config.getCacheDir(), browser, majorVersion.get());
+            if (cached.isPresent()) {
+                return resolved(browser, cached.get(), "cache", start);
+            }
+        }
+        if (config.isOffline()) {
+            throw new IllegalStateException("Offline mode: no " + driverName + " for " + browser + " "
+                + majorVersion.orElse("(version unknown)") + " in " + config.getBinaryDir() + " or the cache at "
+                + config.getCacheDir());
+        }
+
+        WebDriverManager manager = WebDriverManager.getInstance(managerType(browser))
+            .cachePath(config.getCacheDir().toString())
+            .avoidExport()
+            .avoidBrowserDetection();
+        majorVersion.ifPresent(manager::browserVersion);
+        try {
+            manager.setup();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not download " + driverName + " for " + browser + " "
+                + majorVersion.orElse("(version unknown)") + "; provision it in " + config.getBinaryDir(), e);
+        }
+        Path downloaded = Path.of(manager.getDownloadedDriverPath());
+        majorVersion.ifPresent(version -> record(config.getCacheDir(), browser, version, downloaded,
+            manager.getDownloadedDriverVersion()));
+        return resolved(browser, downloaded, "download", start);
+    }
+
+    private static Path resolved(Config.Browser browser, Path binary, String source, long start) {
+        LogUtils.info("Driver for {} resolved from {} in {}ms: {}", browser, source,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), binary);
+        return binary;
+    }
+
+    private static Optional<String> detectMajorVersion(Config.Browser browser) {
+        try {
+            WebDriverManager manager = WebDriverManager.getInstance(managerType(browser));
+            return new VersionDetector(manager.config(), null)
+                .getBrowserVersionFromTheShell(browser.name().toLowerCase(Locale.ROOT))
+                .map(VersionDetector::getMajorVersion);
+        } catch (RuntimeException e) {
+            LogUtils.warn("Could not detect {} version: {}", browser, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Path> provisioned(Path directory, String driverName, Optional<String> majorVersion) {
+        if (majorVersion.isPresent()) {
+            Path versioned = directory.resolve(majorVersion.get()).resolve(driverName);
+            if (Files.isExecutable(versioned)) {
+                return Optional.of(versioned);
+            }
+        }
+        Path unversioned = directory.resolve(driverName);
+        return Files.isExecutable(unversioned) ? Optional.of(unversioned) : Optional.empty();
+    }
+
+    private static Optional<Path> fromManifest(Path cacheDir, Config.Browser browser, String majorVersion) {
+        String path = readManifest(cacheDir).getProperty(manifestKey(browser, majorVersion));
+        if (path == null) {
+            return Optional.empty();
+        }
+        Path binary = Path.of(path);
+        return Files.isExecutable(binary) ? Optional.of(binary) : Optional.empty();
+    }
+
+    private static void record(Path cacheDir, Config.Browser browser, String majorVersion, Path binary,
+                               String driverVersion) {
+        synchronized (manifestLock) {
+            Properties manifest = readManifest(cacheDir);
+            String key = manifestKey(browser, majorVersion);
+            manifest.setProperty(key, binary.toAbsolutePath().toString());
+            manifest.setProperty(key + ".driverVersion", String.valueOf(driverVersion));
+            manifest.setProperty(key + ".resolvedAt", Instant.now().toString());
+            try {
+                Files.createDirectories(cacheDir);
+                // Write then rename, so a concurrently starting JVM never reads a half-written manifest
+                Path temporary = Files.createTempFile(cacheDir, MANIFEST, ".tmp");
+                try (OutputStream out = Files.newOutputStream(temporary)) {
+                    manifest.store(out, "Driver binaries by browser major version");
+                }
+                Files.move(temporary, cacheDir.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                LogUtils.warn("Could not update driver manifest in {}: {}", cacheDir, e.getMessage());
+            }
+        }
+    }
+
+    private static Properties readManifest(Path cacheDir) {
+        Properties manifest = new Properties();
+        Path file = cacheDir.resolve(MANIFEST);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                LogUtils.warn("Ignoring unreadable driver manifest {}: {}", file, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static String manifestKey(Config.Browser browser, String majorVersion) {
+        return browser.name().toLowerCase(Locale.ROOT) + "." + majorVersion;
+    }
+
+    private static String driverName(Config.Browser browser) {
+        String name;
+        switch (browser) {
+            case FIREFOX:
+                name = "geckodriver";
+                break;
+            case EDGE:
+                name = "msedgedriver";
+                break;
+            case CHROME:
+            default:
+                name = "chromedriver";
+        }
+        return WINDOWS ? name + ".exe" : name;
+    }
+
+    private static DriverManagerType managerType(Config.Browser browser) {
+        switch (browser) {
+            case FIREFOX:
+                return DriverManagerType.FIREFOX;
+            case EDGE:
+                return DriverManagerType.EDGE;
+            case CHROME:
+            default:
+                return DriverManagerType.CHROME;
+        }
+    }
+}
@@ -1,57 +1,265 @@
 package com.parabank.base;
 
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.edge.EdgeDriver;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.devtools.NetworkRecorder;
+import com.parabank.devtools.PageEvents;
+import com.parabank.devtools.ResourceBlocker;
+import com.parabank.jfr.DriverCreationEvent;
+import com.parabank.utils.LogUtils;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
- * Base class for WebDriver management
+ * Base class for WebDriver management.
+ * Each worker thread owns its own WebDriver so scenarios can run in parallel.
+ * Browsers are launched with the options of a {@link DriverProfile}: headless mode, page load strategy,
+ * images, web fonts and extensions come from config, and the window gets the configured fixed size.
+ * The "lite" browser ({@link LiteDriver}) runs in-process and ignores the launch options.
  */
 public class DriverFactory {
-    private static WebDriver driver;
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
     /**
-     * Initialize WebDriver based on browser type
+     * Initialize WebDriver based on browser type and bind it to the current thread
      *
-     * @param browserName - Browser type (chrome, firefox, edge)
+     * @param browserName - Browser type (chrome, firefox, edge, lite)
      * @return WebDriver instance
      */
     public static WebDriver initializeDriver(String browserName) {
+        return initializeDriver(browserName, DriverProfile.STANDARD);
+    }
+
+    /**
+     * Initialize WebDriver with the options of a profile and bind it to the current thread
+     *
+     * @param browserName - Browser type (chrome, firefox, edge)
+     * @param profile - Launch options profile
+     * @return WebDriver instance
+     */
+    public static WebDriver initializeDriver(String browserName, DriverProfile profile) {
+        WebDriver webDriver = createDriver(browserName, profile);
+        driver.set(webDriver);
+        return webDriver;
+    }
+
+    /**
+     * Launch a new browser without binding it to any thread
+     *
+     * @param browserName - Browser type (chrome, firefox, edge)
+     * @return WebDriver instance
+     */
+    public static WebDriver createDriver(String browserName) {
+        return createDriver(browserName, DriverProfile.STANDARD);
+    }
+
+    /**
+     * Launch a new browser with the options of a profile without binding it to any thread
+     *
+     * @param browserName - Browser type (chrome, firefox, edge)
+     * @param profile - Launch options profile
+     * @return WebDriver instance
+     */
+    public static WebDriver createDriver(String browserName, DriverProfile profile) {
+        DriverCreationEvent creationEvent = new DriverCreationEvent();
+        creationEvent.begin();
+        creationEvent.browser = browserName;
+        creationEvent.profile = profile.name();
+        try {
+            WebDriver webDriver = launch(browserName, profile);
+            creationEvent.instrumented = WireCallRecorder.isEnabled();
+            creationEvent.pageEvents = PageEvents.signalFor(webDriver) != null;
+            creationEvent.succeeded = true;
+            return webDriver;
+        } finally {
+            creationEvent.commit();
+        }
+    }
+
+    private static WebDriver launch(String browserName, DriverProfile profile) {
+        Config.Driver config = ConfigReader.get().driver();
+        Config.Launch settings = profile.settings();
+        // Driver binaries are resolved once per JVM (see DriverBinaries), not per launched browser
+        WebDriver webDriver;
         if (browserName.equalsIgnoreCase("chrome")) {
-            WebDriverManager.chromedriver().setup();
-            driver = new ChromeDriver();
+            webDriver = new ChromeDriver(new ChromeDriverService.Builder()
+                .usingDriverExecutable(DriverBinaries.get(Config.Browser.CHROME).toFile()).build(),
+                chromiumOptions(new ChromeOptions(), settings, config));
         } else if (browserName.equalsIgnoreCase("firefox")) {
-            WebDriverManager.firefoxdriver().setup();
-            driver = new FirefoxDriver();
+            webDriver = new FirefoxDriver(new GeckoDriverService.Builder()
+                .usingDriverExecutable(DriverBinaries.get(Config.Browser.FIREFOX).toFile()).build(),
+                firefoxOptions(settings, config));
         } else if (browserName.equalsIgnoreCase("edge")) {
-            WebDriverManager.edgedriver().setup();
-            driver = new EdgeDriver();
+            webDriver = new EdgeDriver(new EdgeDriverService.Builder()
+                .usingDriverExecutable(DriverBinaries.get(Config.Browser.EDGE).toFile()).build(),
+                chromiumOptions(new EdgeOptions(), settings, config));
+        } else if (browserName.equalsIgnoreCase("lite")) {
+            webDriver = new LiteDriver();
         } else {
             throw new IllegalArgumentException("Invalid browser name: " + browserName);
         }
 
-        driver.manage().window().maximize();
-        return driver;
+        // A fixed size instead of maximize(): layouts (and screenshots) do not depend on the agent's screen
+        webDriver.manage().window().setSize(new Dimension(config.getWindowWidth(), config.getWindowHeight()));
+        // Implicit wait stays at 0: WaitEngine handles waiting and the fast presence checks rely on it
+        webDriver.manage().timeouts().pageLoadTimeout(config.getPageLoadTimeout());
+        if (WireCallRecorder.isEnabled()) {
+            // The decorated proxy keeps the driver's interfaces (JavascriptExecutor, HasDevTools, ...)
+            webDriver = new EventFiringDecorator<>(WireCallRecorder.getInstance()).decorate(webDriver);
+        }
+        PageEvents.attach(webDriver);
+        ResourceBlocker.attach(webDriver);
+        NetworkRecorder.attach(webDriver);
+        LogUtils.debug("Launched {} ({}): {}", browserName, profile, settings);
+        return webDriver;
     }
 
     /**
-     * Get current WebDriver instance
+     * Choose the browser for a scenario.
+     * Tag @liteBrowser selects the in-process browser; @realBrowser keeps a real one even with browser=lite
+     * (Chrome in that case).
      *
-     * @return WebDriver instance
+     * @param tags Scenario tags
+     * @return Browser name for {@link #createDriver(String, DriverProfile)}
+     */
+    public static String browserForScenario(Collection<String> tags) {
+        Config.Browser configured = ConfigReader.get().getBrowser();
+        if (tags.contains("@realBrowser")) {
+            return configured == Config.Browser.LITE ? "chrome" : configured.name().toLowerCase(Locale.ROOT);
+        }
+        if (tags.contains("@liteBrowser")) {
+            return "lite";
+        }
+        return configured.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Chrome and Edge options for a profile
+     */
+    private static <T extends ChromiumOptions<T>> T chromiumOptions(T options, Config.Launch settings, Config.Driver config) {
+        options.setPageLoadStrategy(pageLoadStrategy(settings));
+        options.addArguments("--window-size=" + config.getWindowWidth() + "," + config.getWindowHeight());
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        if (settings.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        if (settings.isDisableExtensions()) {
+            options.addArguments("--disable-extensions");
+        }
+        if (settings.isDisableFonts()) {
+            // Skip downloading web fonts; text renders with local fonts
+            options.addArguments("--disable-remote-fonts");
+        }
+        if (settings.isDisableImages()) {
+            Map<String, Object> preferences = new HashMap<>();
+            preferences.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", preferences);
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        if (ConfigReader.get().replay().getMode() == Config.ReplayMode.REPLAY) {
+            // Replays never go upstream: only the local proxy resolves, other hosts fail without a lookup
+            options.addArguments("--host-resolver-rules=MAP * ~NOTFOUND, EXCLUDE localhost");
+        }
+        return options;
+    }
+
+    /**
+     * Firefox options for a profile; a fresh Firefox profile has no extensions to disable
+     */
+    private static FirefoxOptions firefoxOptions(Config.Launch settings, Config.Driver config) {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(pageLoadStrategy(settings));
+        options.addArguments("--width=" + config.getWindowWidth());
+        options.addArguments("--height=" + config.getWindowHeight());
+        if (settings.isHeadless()) {
+            options.addArguments("-headless");
+        }
+        if (settings.isDisableFonts()) {
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+        }
+        if (settings.isDisableImages()) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        return options;
+    }
+
+    private static PageLoadStrategy pageLoadStrategy(Config.Launch settings) {
+        switch (settings.getPageLoadStrategy()) {
+            case EAGER:
+                return PageLoadStrategy.EAGER;
+            case NONE:
+                return PageLoadStrategy.NONE;
+            case NORMAL:
+            default:
+                return PageLoadStrategy.NORMAL;
+        }
+    }
+
+    /**
+     * Bind an already running WebDriver to the current thread
+     *
+     * @param webDriver WebDriver instance
+     */
+    public static void setDriver(WebDriver webDriver) {
+        driver.set(webDriver);
+    }
+
+    /**
+     * Unbind the current thread's WebDriver without quitting it
+     */
+    public static void removeDriver() {
+        driver.remove();
+    }
+
+    /**
+     * Get WebDriver instance owned by the current thread
+     *
+     * @return WebDriver instance, or null if none was initialized on this thread
      */
     public static WebDriver getDriver() {
-        return driver;
+        return driver.get();
     }
 
     /**
-     * Quit WebDriver
+     * Quit WebDriver owned by the current thread
      */
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        WebDriver webDriver = driver.get();
+        if (webDriver != null) {
+            try {
+                quit(webDriver);
+            } finally {
+                driver.remove();
+            }
         }
     }
+
+    /**
+     * Release everything attached to a driver and quit it
+     *
+     * @param webDriver WebDriver instance
+     */
+    public static void quit(WebDriver webDriver) {
+        NetworkRecorder.detach(webDriver);
+        ResourceBlocker.detach(webDriver);
+        PageEvents.detach(webDriver);
+        webDriver.quit();
+    }
 }
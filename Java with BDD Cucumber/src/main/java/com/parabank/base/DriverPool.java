@@ -0,0 +1,280 @@
+package com.parabank.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LogUtils;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of warm browsers that are leased per scenario.
+ * A returned browser is reset (cookies, local/session storage, extra windows) and parked on
+ * about:blank instead of being quit, so the next scenario skips the driver process start.
+ * Browsers are recycled after a configurable number of uses or after a failed scenario.
+ * Idle browsers are kept per browser type and {@link DriverProfile}, so a lean browser is never handed
+ * to a scenario that asked for a regular one. Live browsers (leased plus idle) never exceed the pool size:
+ * a launch first quits the longest-idle browser of another type or profile.
+ */
+public class DriverPool {
+    private static final Config.Pool CONFIG = ConfigReader.get().pool();
+    private static final int POOL_SIZE = CONFIG.getSize();
+    private static final int MAX_USES = CONFIG.getMaxUses();
+    private static final long LEASE_TIMEOUT_SECONDS = CONFIG.getLeaseTimeout().getSeconds();
+
+    private static final Semaphore permits = new Semaphore(POOL_SIZE, true);
+    private static final Map<String, BlockingDeque<PooledDriver>> idleDrivers = new ConcurrentHashMap<>();
+    private static final ThreadLocal<PooledDriver> leasedDriver = new ThreadLocal<>();
+    private static final AtomicInteger liveDrivers = new AtomicInteger();
+
+    private static final AtomicLong leases = new AtomicLong();
+    private static final AtomicLong reuses = new AtomicLong();
+    private static final AtomicLong launches = new AtomicLong();
+    private static final AtomicLong launchNanos = new AtomicLong();
+    private static final AtomicLong recycledAfterMaxUses = new AtomicLong();
+    private static final AtomicLong recycledAfterFailure = new AtomicLong();
+    private static final AtomicLong evictedForOtherType = new AtomicLong();
+    private static final AtomicLong leaseWaitNanos = new AtomicLong();
+    private static final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    /**
+     * Check whether scenarios should lease browsers from the pool
+     *
+     * @return true if pooling is enabled in config
+     */
+    public static boolean isEnabled() {
+        return CONFIG.isEnabled();
+    }
+
+    /**
+     * Lease a browser for the current thread, launching one only if no warm browser is idle.
+     * Blocks while all pool slots are leased.
+     *
+     * @param browserName Browser type (chrome, firefox, edge)
+     * @return WebDriver bound to the current thread
+     */
+    public static WebDriver lease(String browserName) {
+        return lease(browserName, DriverProfile.STANDARD);
+    }
+
+    /**
+     * Lease a browser of the given profile for the current thread, launching one only if no warm
+     * browser of that profile is idle. Blocks while all pool slots are leased.
+     *
+     * @param browserName Browser type (chrome, firefox, edge)
+     * @param profile Launch options profile
+     * @return WebDriver bound to the current thread
+     */
+    public static WebDriver lease(String browserName, DriverProfile profile) {
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No browser available in pool after " + LEASE_TIMEOUT_SECONDS + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled browser", e);
+        }
+        long waited = System.nanoTime() - waitStart;
+        leaseWaitNanos.addAndGet(waited);
+        maxLeaseWaitNanos.accumulateAndGet(waited, Math::max);
+        leases.incrementAndGet();
+
+        PooledDriver pooled;
+        try {
+            pooled = idleQueue(browserName, profile).pollFirst();
+            if (pooled != null) {
+                reuses.incrementAndGet();
+            } else {
+                evictIdleForLaunch();
+                pooled = launch(browserName, profile);
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        pooled.uses++;
+        if (pooled.uses > 1) {
+            LogUtils.info("Leased warm {} browser (use {}), saved ~{}ms startup",
+                browserName, pooled.uses, averageLaunchMillis());
+        }
+        leasedDriver.set(pooled);
+        DriverFactory.setDriver(pooled.driver);
+        return pooled.driver;
+    }
+
+    /**
+     * Return the current thread's browser to the pool.
+     * The browser is quit instead if the scenario failed, it reached the use limit or it cannot be reset.
+     *
+     * @param scenarioFailed true if the scenario that used the browser failed
+     */
+    public static void release(boolean scenarioFailed) {
+        PooledDriver pooled = leasedDriver.get();
+        if (pooled == null) {
+            return;
+        }
+        leasedDriver.remove();
+        DriverFactory.removeDriver();
+
+        try {
+            if (scenarioFailed) {
+                recycledAfterFailure.incrementAndGet();
+                quit(pooled);
+            } else if (pooled.uses >= MAX_USES) {
+                recycledAfterMaxUses.incrementAndGet();
+                quit(pooled);
+            } else if (reset(pooled.driver)) {
+                pooled.idleSince = System.nanoTime();
+                idleQueue(pooled.browserName, pooled.profile).offerFirst(pooled);
+            } else {
+                recycledAfterFailure.incrementAndGet();
+                quit(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quit all idle browsers and log pool statistics
+     */
+    public static void shutdown() {
+        for (BlockingDeque<PooledDriver> queue : idleDrivers.values()) {
+            PooledDriver pooled;
+            while ((pooled = queue.pollFirst()) != null) {
+                quit(pooled);
+            }
+        }
+        logStatistics();
+    }
+
+    /**
+     * Log pool size, lease wait times and the browser startup time saved by reuse
+     */
+    public static void logStatistics() {
+        long launched = launches.get();
+        long avgLaunchMillis = averageLaunchMillis();
+        long leaseCount = leases.get();
+        long avgWaitMillis = leaseCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.get() / leaseCount);
+
+        LogUtils.info("Browser pool: size={}, maxUses={}, leases={}, launches={}, reuses={}",
+            POOL_SIZE, MAX_USES, leaseCount, launched, reuses.get());
+        LogUtils.info("Browser pool: recycled after max uses={}, recycled after failure={}, "
+            + "idle evicted for another browser type/profile={}",
+            recycledAfterMaxUses.get(), recycledAfterFailure.get(), evictedForOtherType.get());
+        LogUtils.info("Browser pool: lease wait avg={}ms, max={}ms",
+            avgWaitMillis, TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()));
+        LogUtils.info("Browser pool: avg launch={}ms, startup time saved ~{}ms ({}ms per reused scenario)",
+            avgLaunchMillis, reuses.get() * avgLaunchMillis, avgLaunchMillis);
+    }
+
+    private static long averageLaunchMillis() {
+        long launched = launches.get();
+        return launched == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(launchNanos.get() / launched);
+    }
+
+    /**
+     * Make room for a launch: while the pool is full of live browsers, quit the longest-idle one.
+     * Idle browsers of the requested type and profile were checked before, so these are all of other kinds.
+     */
+    private static void evictIdleForLaunch() {
+        while (liveDrivers.get() >= POOL_SIZE) {
+            BlockingDeque<PooledDriver> oldestQueue = null;
+            PooledDriver oldest = null;
+            for (BlockingDeque<PooledDriver> queue : idleDrivers.values()) {
+                // Released browsers go to the front, so the back holds the longest idle one
+                PooledDriver candidate = queue.peekLast();
+                if (candidate != null && (oldest == null || candidate.idleSince < oldest.idleSince)) {
+                    oldest = candidate;
+                    oldestQueue = queue;
+                }
+            }
+            if (oldest == null) {
+                // Another thread took the last idle browser; its slot is leased, so the count drops on release
+                return;
+            }
+            if (oldestQueue.removeLastOccurrence(oldest)) {
+                evictedForOtherType.incrementAndGet();
+                LogUtils.debug("Quitting idle {} ({}) browser to launch another kind", oldest.browserName, oldest.profile);
+                quit(oldest);
+            }
+        }
+    }
+
+    private static PooledDriver launch(String browserName, DriverProfile profile) {
+        long start = System.nanoTime();
+        WebDriver driver = DriverFactory.createDriver(browserName, profile);
+        liveDrivers.incrementAndGet();
+        launchNanos.addAndGet(System.nanoTime() - start);
+        launches.incrementAndGet();
+        return new PooledDriver(browserName, profile, driver);
+    }
+
+    /**
+     * Clear cookies, web storage and extra windows, then park the browser on about:blank
+     *
+     * @return true if the browser is clean and can be reused
+     */
+    private static boolean reset(WebDriver driver) {
+        try {
+            String mainWindow = null;
+            for (String handle : driver.getWindowHandles()) {
+                if (mainWindow == null) {
+                    mainWindow = handle;
+                } else {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            if (mainWindow != null) {
+                driver.switchTo().window(mainWindow);
+            }
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.navigate().to("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            LogUtils.warn("Discarding pooled browser, reset failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void quit(PooledDriver pooled) {
+        liveDrivers.decrementAndGet();
+        try {
+            DriverFactory.quit(pooled.driver);
+        } catch (RuntimeException e) {
+            LogUtils.warn("Failed to quit pooled browser: {}", e.getMessage());
+        }
+    }
+
+    private static BlockingDeque<PooledDriver> idleQueue(String browserName, DriverProfile profile) {
+        return idleDrivers.computeIfAbsent(browserName.toLowerCase() + ":" + profile, key -> new LinkedBlockingDeque<>());
+    }
+
+    /**
+     * Live browser owned by the pool
+     */
+    private static class PooledDriver {
+        private final String browserName;
+        private final DriverProfile profile;
+        private final WebDriver driver;
+        private int uses;
+        private long idleSince;
+
+        private PooledDriver(String browserName, DriverProfile profile, WebDriver driver) {
+            this.browserName = browserName;
+            this.profile = profile;
+            this.driver = driver;
+        }
+    }
+}
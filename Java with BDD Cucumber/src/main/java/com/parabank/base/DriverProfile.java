@@ -0,0 +1,43 @@
+package com.parabank.base;
+
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import java.util.Collection;
+
+/**
+ * Set of launch options a browser is started with.
+ * Browsers of different profiles are never shared, so the pool keeps them apart.
+ */
+public enum DriverProfile {
+    /** Regular browser, as configured by headlessMode and the driver.* keys */
+    STANDARD,
+    /** Headless, eager page loads, no images, web fonts or extensions (driver.lean.* keys) */
+    LEAN;
+
+    /**
+     * Get the launch options of this profile
+     *
+     * @return Launch options
+     */
+    public Config.Launch settings() {
+        Config.Driver config = ConfigReader.get().driver();
+        return this == LEAN ? config.lean() : config.standard();
+    }
+
+    /**
+     * Choose the profile for a scenario.
+     * Tags @leanBrowser / @fullBrowser win over the driver.lean config key.
+     *
+     * @param tags Scenario tags
+     * @return Driver profile
+     */
+    public static DriverProfile forScenario(Collection<String> tags) {
+        if (tags.contains("@fullBrowser")) {
+            return STANDARD;
+        }
+        if (tags.contains("@leanBrowser")) {
+            return LEAN;
+        }
+        return ConfigReader.get().driver().isLeanByDefault() ? LEAN : STANDARD;
+    }
+}
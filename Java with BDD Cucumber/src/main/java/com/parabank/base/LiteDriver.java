@@ -0,0 +1,41 @@
+package com.parabank.base;
+
+import org.htmlunit.BrowserVersion;
+import org.htmlunit.WebClient;
+import org.htmlunit.WebClientOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+/**
+ * The "lite" browser: HtmlUnit running inside the test JVM.
+ * No browser process, no driver binary and no DevTools, so it starts in milliseconds and needs a few MB per
+ * scenario. JavaScript runs in HtmlUnit's own engine (script fills and readyState checks work); CSS and
+ * images are skipped and error statuses are returned as pages, as a real browser would show them.
+ * Meant for plain form posts and text assertions; screenshots are not available.
+ */
+public class LiteDriver extends HtmlUnitDriver {
+
+    LiteDriver() {
+        super(BrowserVersion.CHROME, true);
+    }
+
+    @Override
+    protected WebClient modifyWebClient(WebClient client) {
+        WebClientOptions options = client.getOptions();
+        options.setCssEnabled(false);
+        options.setDownloadImages(false);
+        options.setThrowExceptionOnScriptError(false);
+        options.setThrowExceptionOnFailingStatusCode(false);
+        options.setPrintContentOnFailingStatusCode(false);
+        return client;
+    }
+
+    /**
+     * Send a header with every following request, replacing an earlier value
+     *
+     * @param name Header name
+     * @param value Header value
+     */
+    public void setRequestHeader(String name, String value) {
+        getWebClient().addRequestHeader(name, value);
+    }
+}
@@ -0,0 +1,315 @@
+package com.parabank.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.devtools.PageEvents;
+import com.parabank.jfr.WaitEvent;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Deadline-aware wait engine used by BaseClass instead of a fixed WebDriverWait.
+ * <ul>
+ *     <li>every wait is bounded by the per-scenario deadline (wall clock from the moment the scenario has
+ *         its browser)</li>
+ *     <li>polling starts short and backs off towards the configured maximum interval; for browsers
+ *         attached to {@link PageEvents} the condition is re-checked as soon as the page changes
+ *         instead, with a slow fallback timer for changes no event reports</li>
+ *     <li>once a locator has enough successful samples its timeout shrinks to a multiple of the
+ *         slowest observed success, capped by explicitWait; BaseClass keys locators by page class, so
+ *         pages sharing a generic locator learn separately</li>
+ *     <li>per-locator statistics are written to a CSV file at the end of the run and used to seed
+ *         the learned timeouts of the next run</li>
+ * </ul>
+ * Every wait is also emitted as a {@link WaitEvent} for Java Flight Recorder.
+ */
+public class WaitEngine {
+    private static final Config.Waits CONFIG = ConfigReader.get().waits();
+    private static final long MAX_TIMEOUT_MILLIS = CONFIG.getExplicitWait().toMillis();
+    private static final long SCENARIO_BUDGET_MILLIS = CONFIG.getScenarioBudget().toMillis();
+    private static final long INITIAL_POLL_MILLIS = CONFIG.getPollInitial().toMillis();
+    private static final long MAX_POLL_MILLIS = CONFIG.getPollMax().toMillis();
+    private static final double POLL_BACKOFF = 1.5;
+    private static final long EVENT_FALLBACK_POLL_MILLIS = CONFIG.getEventFallbackPoll().toMillis();
+    private static final boolean LEARN_TIMEOUTS = CONFIG.isLearnTimeouts();
+    private static final int LEARNING_MIN_SAMPLES = CONFIG.getLearningMinSamples();
+    private static final long LEARNED_TIMEOUT_FLOOR_MILLIS = 2000;
+    private static final int LEARNED_TIMEOUT_FACTOR = 3;
+    private static final Path STATS_FILE = CONFIG.getStatsFile();
+
+    private static final ThreadLocal<Long> scenarioDeadline = new ThreadLocal<>();
+    private static final Map<String, LocatorStats> statistics = new ConcurrentHashMap<>();
+
+    static {
+        loadPreviousStatistics();
+    }
+
+    /**
+     * Arm the wait deadline of the scenario running on the current thread; call once its browser is ready
+     */
+    public static void startScenario() {
+        scenarioDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SCENARIO_BUDGET_MILLIS));
+    }
+
+    /**
+     * Clear the wait budget of the current thread
+     */
+    public static void endScenario() {
+        scenarioDeadline.remove();
+    }
+
+    /**
+     * Wait until the condition returns a non-null value other than Boolean.FALSE
+     *
+     * @param driver WebDriver instance
+     * @param key Statistics key, usually the locator description
+     * @param condition Condition to evaluate
+     * @param <T> Condition result type
+     * @return Condition result
+     * @throws TimeoutException if the condition is not met within the locator timeout or the scenario budget
+     */
+    public static <T> T until(WebDriver driver, String key, Function<WebDriver, T> condition) {
+        LocatorStats stats = statistics.computeIfAbsent(key, name -> new LocatorStats());
+        long timeoutMillis = Math.min(stats.timeoutMillis(), remainingBudgetMillis());
+        PageEvents.Signal signal = PageEvents.signalFor(driver);
+        WaitEvent waitEvent = new WaitEvent();
+        waitEvent.begin();
+        waitEvent.locator = key;
+        waitEvent.timeout = Math.max(0, timeoutMillis);
+        waitEvent.eventDriven = signal != null;
+        waitEvent.outcome = WaitEvent.ERROR;
+        try {
+            if (timeoutMillis <= 0) {
+                stats.timeouts.incrementAndGet();
+                waitEvent.outcome = WaitEvent.BUDGET_EXHAUSTED;
+                throw new TimeoutException("Scenario wait budget of " + SCENARIO_BUDGET_MILLIS
+                    + "ms exhausted, not waiting for " + key);
+            }
+            T result = poll(driver, key, condition, stats, signal, timeoutMillis, waitEvent);
+            waitEvent.outcome = WaitEvent.SUCCESS;
+            return result;
+        } finally {
+            waitEvent.commit();
+        }
+    }
+
+    private static <T> T poll(WebDriver driver, String key, Function<WebDriver, T> condition, LocatorStats stats,
+                              PageEvents.Signal signal, long timeoutMillis, WaitEvent waitEvent) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastError = null;
+        while (true) {
+            long seenVersion = signal == null ? 0 : signal.version();
+            stats.evaluations.incrementAndGet();
+            waitEvent.evaluations++;
+            try {
+                T result = condition.apply(driver);
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    stats.recordSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return result;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                stats.timeouts.incrementAndGet();
+                waitEvent.outcome = WaitEvent.TIMEOUT;
+                throw new TimeoutException("Timed out after " + timeoutMillis + "ms waiting for " + key, lastError);
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1;
+            if (signal != null) {
+                awaitChange(signal, seenVersion, Math.min(EVENT_FALLBACK_POLL_MILLIS, remainingMillis));
+            } else {
+                sleep(Math.min(pollMillis, remainingMillis));
+                pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * POLL_BACKOFF));
+            }
+        }
+    }
+
+    /**
+     * Wait until the page has finished loading, has no requests in flight and has been quiet for a moment.
+     * Uses page events when the browser is attached, otherwise polls document.readyState.
+     *
+     * @param driver WebDriver instance
+     * @param quietMillis Required period without page activity (event mode only)
+     */
+    public static void untilPageSettled(WebDriver driver, long quietMillis) {
+        PageEvents.Signal signal = PageEvents.signalFor(driver);
+        if (signal == null) {
+            until(driver, "document ready", webDriver -> "complete".equals(
+                ((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
+            return;
+        }
+
+        LocatorStats stats = statistics.computeIfAbsent("page settled", name -> new LocatorStats());
+        long timeoutMillis = Math.min(MAX_TIMEOUT_MILLIS, remainingBudgetMillis());
+        WaitEvent waitEvent = new WaitEvent();
+        waitEvent.begin();
+        waitEvent.locator = "page settled";
+        waitEvent.timeout = Math.max(0, timeoutMillis);
+        waitEvent.eventDriven = true;
+        waitEvent.outcome = WaitEvent.ERROR;
+        long start = System.nanoTime();
+        try {
+            if (timeoutMillis <= 0 || !signal.awaitSettled(quietMillis, timeoutMillis)) {
+                stats.timeouts.incrementAndGet();
+                waitEvent.outcome = timeoutMillis <= 0 ? WaitEvent.BUDGET_EXHAUSTED : WaitEvent.TIMEOUT;
+                throw new TimeoutException("Page did not settle within " + timeoutMillis + "ms");
+            }
+            waitEvent.outcome = WaitEvent.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for page to settle", e);
+        } finally {
+            waitEvent.commit();
+        }
+        stats.recordSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Get the timeout currently applied to a key (learned or configured)
+     *
+     * @param key Statistics key
+     * @return Timeout in milliseconds
+     */
+    public static long timeoutMillis(String key) {
+        LocatorStats stats = statistics.get(key);
+        return stats == null ? MAX_TIMEOUT_MILLIS : stats.timeoutMillis();
+    }
+
+    /**
+     * Write per-locator wait statistics to the configured CSV file
+     */
+    public static void writeStatistics() {
+        try {
+            if (STATS_FILE.getParent() != null) {
+                Files.createDirectories(STATS_FILE.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(STATS_FILE, StandardCharsets.UTF_8)) {
+                writer.write("locator,successes,timeouts,evaluations,avgMillis,maxMillis,timeoutMillis,"
+                    + "learnedSamples,learnedMaxMillis");
+                writer.newLine();
+                for (Map.Entry<String, LocatorStats> entry : new TreeMap<>(statistics).entrySet()) {
+                    LocatorStats stats = entry.getValue();
+                    long successes = stats.successes.get();
+                    writer.write(csv(entry.getKey()) + "," + successes + "," + stats.timeouts.get() + ","
+                        + stats.evaluations.get() + "," + (successes == 0 ? 0 : stats.totalMillis.get() / successes) + ","
+                        + stats.maxMillis.get() + "," + stats.timeoutMillis() + "," + stats.learnedSamples() + ","
+                        + stats.learnedMaxMillis());
+                    writer.newLine();
+                }
+            }
+            LogUtils.info("Wait statistics written to {}", STATS_FILE);
+        } catch (IOException e) {
+            LogUtils.error("Failed to write wait statistics: {}", e.getMessage());
+        }
+    }
+
+    private static long remainingBudgetMillis() {
+        Long deadline = scenarioDeadline.get();
+        if (deadline == null) {
+            return MAX_TIMEOUT_MILLIS;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    private static void awaitChange(PageEvents.Signal signal, long seenVersion, long millis) {
+        try {
+            signal.awaitChange(seenVersion, millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Seed learned timeouts with the successes recorded by a previous run
+     */
+    private static void loadPreviousStatistics() {
+        if (!Files.isRegularFile(STATS_FILE)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(STATS_FILE, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int keyEnd = line.startsWith("\"") ? line.indexOf("\",", 1) + 1 : line.indexOf(',');
+                String[] values = line.substring(keyEnd + 1).split(",");
+                String key = line.substring(0, keyEnd).replaceAll("^\"|\"$", "").replace("\"\"", "\"");
+                LocatorStats stats = new LocatorStats();
+                stats.previousSuccesses = Long.parseLong(values[6]);
+                stats.previousMaxMillis = Long.parseLong(values[7]);
+                statistics.put(key, stats);
+            }
+        } catch (IOException | RuntimeException e) {
+            LogUtils.warn("Ignoring unreadable wait statistics {}: {}", STATS_FILE, e.getMessage());
+        }
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Wait statistics of one locator
+     */
+    private static class LocatorStats {
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong evaluations = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private long previousSuccesses;
+        private long previousMaxMillis;
+
+        private void recordSuccess(long millis) {
+            successes.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        private long learnedSamples() {
+            return successes.get() + previousSuccesses;
+        }
+
+        private long learnedMaxMillis() {
+            return Math.max(maxMillis.get(), previousMaxMillis);
+        }
+
+        private long timeoutMillis() {
+            if (!LEARN_TIMEOUTS || learnedSamples() < LEARNING_MIN_SAMPLES) {
+                return MAX_TIMEOUT_MILLIS;
+            }
+            return Math.min(MAX_TIMEOUT_MILLIS,
+                Math.max(LEARNED_TIMEOUT_FLOOR_MILLIS, learnedMaxMillis() * LEARNED_TIMEOUT_FACTOR));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.parabank.base;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+import com.parabank.config.ConfigReader;
+import com.parabank.jfr.DriverCommandEvent;
+import com.parabank.utils.ExecutionContext;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebDriver listener counting and timing every WebDriver command per command type, attributed to the
+ * current scenario step and to the page method / BaseClass helper that issued it.
+ * Attached by DriverFactory through Selenium's EventFiringDecorator when driver.instrumentation=true;
+ * the reports show which steps and page methods are chattiest and are worth batching.
+ */
+public class WireCallRecorder implements WebDriverListener {
+    private static final String BASE_CLASS = BaseClass.class.getName();
+    private static final String PAGES_PACKAGE = "com.parabank.pages.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final WireCallRecorder INSTANCE = new WireCallRecorder();
+    private static final ThreadLocal<Deque<CallStart>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Map<String, CallStats> byCommand = new ConcurrentHashMap<>();
+    private static final Map<String, CallStats> byStep = new ConcurrentHashMap<>();
+    private static final Map<String, CallStats> byPageMethod = new ConcurrentHashMap<>();
+    private static final Map<String, CallStats> byScenario = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether drivers should be wrapped for instrumentation
+     *
+     * @return true if enabled in config
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.get().driver().isInstrumentation();
+    }
+
+    /**
+     * Get the shared listener instance
+     *
+     * @return Listener
+     */
+    public static WireCallRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() != Object.class) {
+            callStarts.get().push(new CallStart());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, true);
+    }
+
+    /**
+     * Write wire call reports (by command, step, page method and scenario) to the configured directory
+     */
+    public static void writeReports() {
+        if (byCommand.isEmpty()) {
+            return;
+        }
+        Path directory = ConfigReader.get().driver().getInstrumentationDir();
+        try {
+            Files.createDirectories(directory);
+            write(directory.resolve("by-command.csv"), "command", byCommand);
+            write(directory.resolve("by-step.csv"), "step", byStep);
+            write(directory.resolve("by-page-method.csv"), "pageMethod", byPageMethod);
+            write(directory.resolve("by-scenario.csv"), "scenario", byScenario);
+            LogUtils.info("Wire call reports written to {}", directory);
+        } catch (IOException e) {
+            LogUtils.error("Failed to write wire call reports: {}", e.getMessage());
+        }
+    }
+
+    private void finish(Method method, boolean failed) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        Deque<CallStart> starts = callStarts.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        CallStart start = starts.pop();
+        long nanos = System.nanoTime() - start.nanos;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String step = ExecutionContext.getStep();
+        String caller = callerOf(command);
+
+        record(byCommand, command, nanos, failed);
+        record(byStep, step + " | " + command, nanos, failed);
+        record(byPageMethod, caller, nanos, failed);
+        record(byScenario, ExecutionContext.getScenario(), nanos, failed);
+
+        DriverCommandEvent commandEvent = start.event;
+        if (commandEvent != null) {
+            commandEvent.command = command;
+            commandEvent.caller = caller;
+            commandEvent.step = step;
+            commandEvent.failed = failed;
+            commandEvent.commit();
+        }
+    }
+
+    /**
+     * Describe who issued a command: "LoginPage.enterUsername > BaseClass.typeText > WebElement.sendKeys"
+     */
+    private static String callerOf(String command) {
+        String[] callers = STACK_WALKER.walk(frames -> {
+            String[] found = new String[2];
+            frames.forEach(frame -> {
+                String className = frame.getClassName();
+                if (found[0] == null && className.equals(BASE_CLASS)) {
+                    found[0] = "BaseClass." + frame.getMethodName();
+                } else if (found[1] == null && className.startsWith(PAGES_PACKAGE)) {
+                    found[1] = className.substring(PAGES_PACKAGE.length()) + "." + frame.getMethodName();
+                }
+            });
+            return found;
+        });
+        StringBuilder caller = new StringBuilder();
+        Optional.ofNullable(callers[1]).ifPresent(page -> caller.append(page).append(" > "));
+        Optional.ofNullable(callers[0]).ifPresent(helper -> caller.append(helper).append(" > "));
+        if (caller.length() == 0) {
+            caller.append("(framework) > ");
+        }
+        return caller.append(command).toString();
+    }
+
+    private static void record(Map<String, CallStats> stats, String key, long nanos, boolean failed) {
+        CallStats callStats = stats.get(key);
+        if (callStats == null) {
+            callStats = stats.computeIfAbsent(key, name -> new CallStats());
+        }
+        callStats.calls.incrementAndGet();
+        callStats.nanos.addAndGet(nanos);
+        if (failed) {
+            callStats.errors.incrementAndGet();
+        }
+    }
+
+    private static void write(Path file, String keyName, Map<String, CallStats> stats) throws IOException {
+        List<Map.Entry<String, CallStats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().calls.get(), a.getValue().calls.get()));
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(keyName + ",calls,errors,totalMs,avgMs");
+            writer.newLine();
+            for (Map.Entry<String, CallStats> entry : entries) {
+                CallStats callStats = entry.getValue();
+                long calls = callStats.calls.get();
+                long totalMillis = TimeUnit.NANOSECONDS.toMillis(callStats.nanos.get());
+                writer.write("\"" + entry.getKey().replace("\"", "\"\"") + "\"," + calls + "," + callStats.errors.get()
+                    + "," + totalMillis + "," + String.format("%.2f", callStats.nanos.get() / 1_000_000.0 / calls));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * A command in progress on the current thread
+     */
+    private static class CallStart {
+        private final long nanos = System.nanoTime();
+        private final DriverCommandEvent event;
+
+        private CallStart() {
+            DriverCommandEvent commandEvent = new DriverCommandEvent();
+            if (commandEvent.isEnabled()) {
+                commandEvent.begin();
+                event = commandEvent;
+            } else {
+                event = null;
+            }
+        }
+    }
+
+    /**
+     * Counters of one report row
+     */
+    private static class CallStats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+    }
+}
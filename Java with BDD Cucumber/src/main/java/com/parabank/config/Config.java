@@ -0,0 +1,838 @@
+package com.parabank.config;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, typed snapshot of the framework configuration, built once by {@link ConfigReader}.
+ * All fields are final, so worker threads read it without locking.
+ * <p>
+ * Durations accept a unit suffix ({@code 500ms}, {@code 30s}, {@code 2m}); a plain number uses the
+ * unit the key has always used (seconds for timeouts, milliseconds for polling intervals).
+ */
+public final class Config {
+
+    public enum Browser {
+        CHROME, FIREFOX, EDGE, LITE
+    }
+
+    public enum LoginMode {
+        UI, API
+    }
+
+    public enum FillMode {
+        SCRIPT, KEYS
+    }
+
+    public enum OverflowPolicy {
+        BLOCK, DROP
+    }
+
+    public enum PageLoadStrategy {
+        NORMAL, EAGER, NONE
+    }
+
+    public enum BlockingMode {
+        OFF, REPORT, BLOCK
+    }
+
+    public enum ReplayMode {
+        OFF, RECORD, REPLAY
+    }
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h)?");
+
+    private final String profile;
+    private final Browser browser;
+    private final String baseUrl;
+    private final LoginMode loginMode;
+    private final FillMode fillMode;
+    private final Driver driver;
+    private final Waits waits;
+    private final Pool pool;
+    private final Sessions sessions;
+    private final Screenshots screenshots;
+    private final Network network;
+    private final StandIn standIn;
+    private final Replay replay;
+    private final Load load;
+
+    Config(String profile, Map<String, String> properties) {
+        Values values = new Values(properties);
+        this.profile = profile;
+        this.browser = values.enumValue("browser", Browser.CHROME);
+        this.standIn = new StandIn(values);
+        // The stand-in replaces the remote site for everything that builds URLs from baseUrl,
+        // and the replay proxy goes in front of whichever of the two is used
+        String applicationUrl = standIn.enabled ? "http://localhost:" + standIn.port + "/parabank/" : values.required("baseUrl");
+        this.replay = new Replay(values, applicationUrl);
+        this.baseUrl = replay.mode == ReplayMode.OFF || applicationUrl == null
+            ? applicationUrl : "http://localhost:" + replay.port + URI.create(applicationUrl).getRawPath();
+        this.loginMode = values.enumValue("loginMode", LoginMode.API);
+        this.fillMode = values.enumValue("fillMode", FillMode.SCRIPT);
+        this.driver = new Driver(values);
+        this.waits = new Waits(values);
+        this.pool = new Pool(values);
+        this.sessions = new Sessions(values);
+        this.screenshots = new Screenshots(values);
+        this.network = new Network(values);
+        this.load = new Load(values);
+        values.failOnErrors();
+    }
+
+    /**
+     * @return Active profile (local, ci, load, ...)
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    public Browser getBrowser() {
+        return browser;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public LoginMode getLoginMode() {
+        return loginMode;
+    }
+
+    public FillMode getFillMode() {
+        return fillMode;
+    }
+
+    public Driver driver() {
+        return driver;
+    }
+
+    public Waits waits() {
+        return waits;
+    }
+
+    public Pool pool() {
+        return pool;
+    }
+
+    public Sessions sessions() {
+        return sessions;
+    }
+
+    public Screenshots screenshots() {
+        return screenshots;
+    }
+
+    public Network network() {
+        return network;
+    }
+
+    public StandIn standIn() {
+        return standIn;
+    }
+
+    public Replay replay() {
+        return replay;
+    }
+
+    public Load load() {
+        return load;
+    }
+
+    @Override
+    public String toString() {
+        return "profile=" + profile + ", browser=" + browser + ", baseUrl=" + baseUrl + (standIn.enabled ? " (stand-in)" : "")
+            + (replay.mode != ReplayMode.OFF ? " (" + replay.mode.name().toLowerCase(Locale.ROOT) + " proxy)" : "")
+            + ", headless=" + driver.standard.headless
+            + ", pool=" + (pool.enabled ? pool.size : "off") + ", explicitWait=" + waits.explicitWait.getSeconds() + "s";
+    }
+
+    /**
+     * Browser launch settings
+     */
+    public static final class Driver {
+        private final Launch standard;
+        private final Launch lean;
+        private final boolean leanByDefault;
+        private final int windowWidth;
+        private final int windowHeight;
+        private final Duration pageLoadTimeout;
+        private final boolean instrumentation;
+        private final Path instrumentationDir;
+        private final boolean offline;
+        private final Path binaryDir;
+        private final Path cacheDir;
+
+        private Driver(Values values) {
+            standard = new Launch(values, "driver.", values.bool("headlessMode", false), PageLoadStrategy.NORMAL, false);
+            lean = new Launch(values, "driver.lean.", true, PageLoadStrategy.EAGER, true);
+            leanByDefault = values.bool("driver.lean", false);
+            windowWidth = values.integer("windowWidth", 1920);
+            windowHeight = values.integer("windowHeight", 1080);
+            pageLoadTimeout = values.duration("pageLoadTimeout", "30", ChronoUnit.SECONDS);
+            instrumentation = values.bool("driver.instrumentation", false);
+            instrumentationDir = values.path("driver.instrumentationDir", "target/wire-calls");
+            offline = values.bool("driver.offline", false);
+            binaryDir = values.path("driver.binaryDir", "drivers");
+            cacheDir = values.path("driver.cacheDir",
+                Paths.get(System.getProperty("user.home"), ".cache", "parabank", "drivers").toString());
+        }
+
+        public boolean isHeadless() {
+            return standard.headless;
+        }
+
+        /**
+         * @return Launch options of regular browsers
+         */
+        public Launch standard() {
+            return standard;
+        }
+
+        /**
+         * @return Launch options of lean browsers (@leanBrowser scenarios, or all with driver.lean=true)
+         */
+        public Launch lean() {
+            return lean;
+        }
+
+        public boolean isLeanByDefault() {
+            return leanByDefault;
+        }
+
+        public int getWindowWidth() {
+            return windowWidth;
+        }
+
+        public int getWindowHeight() {
+            return windowHeight;
+        }
+
+        public Duration getPageLoadTimeout() {
+            return pageLoadTimeout;
+        }
+
+        public boolean isInstrumentation() {
+            return instrumentation;
+        }
+
+        public Path getInstrumentationDir() {
+            return instrumentationDir;
+        }
+
+        /**
+         * @return Whether driver binaries must come from the binary directory or the cache, never a download
+         */
+        public boolean isOffline() {
+            return offline;
+        }
+
+        public Path getBinaryDir() {
+            return binaryDir;
+        }
+
+        public Path getCacheDir() {
+            return cacheDir;
+        }
+    }
+
+    /**
+     * Options a browser is launched with; keys are read under a prefix (driver. or driver.lean.)
+     */
+    public static final class Launch {
+        private final boolean headless;
+        private final PageLoadStrategy pageLoadStrategy;
+        private final boolean disableImages;
+        private final boolean disableFonts;
+        private final boolean disableExtensions;
+
+        private Launch(Values values, String prefix, boolean headless, PageLoadStrategy pageLoadStrategy,
+                       boolean disableContent) {
+            // The default comes from headlessMode for regular browsers
+            this.headless = values.bool(prefix + "headless", headless);
+            this.pageLoadStrategy = values.enumValue(prefix + "pageLoadStrategy", pageLoadStrategy);
+            this.disableImages = values.bool(prefix + "disableImages", disableContent);
+            this.disableFonts = values.bool(prefix + "disableFonts", disableContent);
+            this.disableExtensions = values.bool(prefix + "disableExtensions", true);
+        }
+
+        public boolean isHeadless() {
+            return headless;
+        }
+
+        public PageLoadStrategy getPageLoadStrategy() {
+            return pageLoadStrategy;
+        }
+
+        public boolean isDisableImages() {
+            return disableImages;
+        }
+
+        public boolean isDisableFonts() {
+            return disableFonts;
+        }
+
+        public boolean isDisableExtensions() {
+            return disableExtensions;
+        }
+
+        @Override
+        public String toString() {
+            return "headless=" + headless + ", pageLoadStrategy=" + pageLoadStrategy.name().toLowerCase(Locale.ROOT)
+                + ", images=" + !disableImages + ", fonts=" + !disableFonts + ", extensions=" + !disableExtensions;
+        }
+    }
+
+    /**
+     * WaitEngine and page event settings
+     */
+    public static final class Waits {
+        private final Duration explicitWait;
+        private final Duration scenarioBudget;
+        private final Duration pollInitial;
+        private final Duration pollMax;
+        private final boolean learnTimeouts;
+        private final int learningMinSamples;
+        private final boolean eventDriven;
+        private final Duration eventFallbackPoll;
+        private final Duration quietPeriod;
+        private final Path statsFile;
+
+        private Waits(Values values) {
+            explicitWait = values.duration("explicitWait", "20", ChronoUnit.SECONDS);
+            scenarioBudget = values.duration("wait.scenarioBudget", "180", ChronoUnit.SECONDS);
+            pollInitial = values.duration("wait.pollInitial", "25", ChronoUnit.MILLIS);
+            pollMax = values.duration("wait.pollMax", "500", ChronoUnit.MILLIS);
+            learnTimeouts = values.bool("wait.learnTimeouts", true);
+            learningMinSamples = values.integer("wait.learningMinSamples", 5);
+            eventDriven = values.bool("wait.eventDriven", true);
+            eventFallbackPoll = values.duration("wait.eventFallbackPoll", "500", ChronoUnit.MILLIS);
+            quietPeriod = values.duration("wait.quietPeriod", "150", ChronoUnit.MILLIS);
+            statsFile = values.path("wait.statsFile", "target/wait-stats.csv");
+        }
+
+        public Duration getExplicitWait() {
+            return explicitWait;
+        }
+
+        /**
+         * @return Wall-clock deadline for a scenario's waits, counted from the moment it has its browser
+         */
+        public Duration getScenarioBudget() {
+            return scenarioBudget;
+        }
+
+        public Duration getPollInitial() {
+            return pollInitial;
+        }
+
+        public Duration getPollMax() {
+            return pollMax;
+        }
+
+        public boolean isLearnTimeouts() {
+            return learnTimeouts;
+        }
+
+        public int getLearningMinSamples() {
+            return learningMinSamples;
+        }
+
+        public boolean isEventDriven() {
+            return eventDriven;
+        }
+
+        public Duration getEventFallbackPoll() {
+            return eventFallbackPoll;
+        }
+
+        public Duration getQuietPeriod() {
+            return quietPeriod;
+        }
+
+        public Path getStatsFile() {
+            return statsFile;
+        }
+    }
+
+    /**
+     * Browser pool settings
+     */
+    public static final class Pool {
+        private final boolean enabled;
+        private final int size;
+        private final int maxUses;
+        private final Duration leaseTimeout;
+
+        private Pool(Values values) {
+            enabled = values.bool("browserPool.enabled", true);
+            size = values.integer("browserPool.size", 4);
+            maxUses = values.integer("browserPool.maxUses", 25);
+            leaseTimeout = values.duration("browserPool.leaseTimeout", "300", ChronoUnit.SECONDS);
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxUses() {
+            return maxUses;
+        }
+
+        public Duration getLeaseTimeout() {
+            return leaseTimeout;
+        }
+    }
+
+    /**
+     * API session cache settings
+     */
+    public static final class Sessions {
+        private final boolean enabled;
+        private final Duration ttl;
+        private final Duration revalidateAfter;
+        private final int maxEntries;
+
+        private Sessions(Values values) {
+            enabled = values.bool("sessionCache.enabled", true);
+            ttl = values.duration("sessionCache.ttl", "600", ChronoUnit.SECONDS);
+            revalidateAfter = values.duration("sessionCache.revalidateAfter", "30", ChronoUnit.SECONDS);
+            maxEntries = values.integer("sessionCache.maxEntries", 50);
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Duration getRevalidateAfter() {
+            return revalidateAfter;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+    }
+
+    /**
+     * Screenshot settings
+     */
+    public static final class Screenshots {
+        private final boolean onFailure;
+        private final int queueCapacity;
+        private final OverflowPolicy overflowPolicy;
+        private final boolean thumbnails;
+        private final int thumbnailWidth;
+
+        private Screenshots(Values values) {
+            onFailure = values.bool("takeScreenshot", true);
+            queueCapacity = values.integer("screenshot.queueCapacity", 32);
+            overflowPolicy = values.enumValue("screenshot.overflowPolicy", OverflowPolicy.BLOCK);
+            thumbnails = values.bool("screenshot.thumbnails", true);
+            thumbnailWidth = values.integer("screenshot.thumbnailWidth", 320);
+        }
+
+        public boolean isOnFailure() {
+            return onFailure;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public boolean isThumbnails() {
+            return thumbnails;
+        }
+
+        public int getThumbnailWidth() {
+            return thumbnailWidth;
+        }
+    }
+
+    /**
+     * DevTools request blocking and recording settings
+     */
+    public static final class Network {
+        private final BlockingMode blocking;
+        private final List<String> blockTypes;
+        private final List<String> denyPatterns;
+        private final List<String> allowPatterns;
+        private final boolean recording;
+        private final Path reportDir;
+
+        private Network(Values values) {
+            blocking = values.enumValue("network.blocking", BlockingMode.OFF);
+            blockTypes = values.list("network.blockTypes", "image,font,media");
+            denyPatterns = values.list("network.denyPatterns", "");
+            allowPatterns = values.list("network.allowPatterns", "");
+            recording = values.bool("network.recording", false);
+            reportDir = values.path("network.reportDir", "target/network");
+        }
+
+        /**
+         * @return off, report (only record what would be blocked) or block
+         */
+        public BlockingMode getBlocking() {
+            return blocking;
+        }
+
+        /**
+         * @return DevTools resource types to block, lower case (image, font, stylesheet, media, script, ...)
+         */
+        public List<String> getBlockTypes() {
+            return blockTypes;
+        }
+
+        /**
+         * @return URL patterns to block, {@code *} matching any characters
+         */
+        public List<String> getDenyPatterns() {
+            return denyPatterns;
+        }
+
+        /**
+         * @return URL patterns never blocked, even when their type or a deny pattern matches
+         */
+        public List<String> getAllowPatterns() {
+            return allowPatterns;
+        }
+
+        /**
+         * @return Whether request timings are written per scenario (HAR-style)
+         */
+        public boolean isRecording() {
+            return recording;
+        }
+
+        public Path getReportDir() {
+            return reportDir;
+        }
+    }
+
+    /**
+     * Embedded ParaBank stand-in settings
+     */
+    public static final class StandIn {
+        private final boolean enabled;
+        private final int port;
+        private final Duration latency;
+        private final Duration latencyJitter;
+        private final int threads;
+
+        private StandIn(Values values) {
+            enabled = values.bool("standIn.enabled", false);
+            port = values.integer("standIn.port", 8089);
+            latency = values.duration("standIn.latency", "0", ChronoUnit.MILLIS);
+            latencyJitter = values.duration("standIn.latencyJitter", "0", ChronoUnit.MILLIS);
+            threads = values.integer("standIn.threads", 32);
+        }
+
+        /**
+         * @return Whether runs use the stand-in instead of baseUrl
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * @return Delay added to every response
+         */
+        public Duration getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return Upper bound of the random delay added on top of the latency
+         */
+        public Duration getLatencyJitter() {
+            return latencyJitter;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+    }
+
+    /**
+     * Record/replay proxy settings
+     */
+    public static final class Replay {
+        private final ReplayMode mode;
+        private final int port;
+        private final Path archive;
+        private final Path reportDir;
+        private final String upstreamUrl;
+
+        private Replay(Values values, String upstreamUrl) {
+            mode = values.enumValue("replay.mode", ReplayMode.OFF);
+            port = values.integer("replay.port", 8090);
+            archive = values.path("replay.archive", "recordings/parabank");
+            reportDir = values.path("replay.reportDir", "target/replay");
+            this.upstreamUrl = upstreamUrl;
+        }
+
+        /**
+         * @return off, record (fetch upstream and archive) or replay (serve only from the archive)
+         */
+        public ReplayMode getMode() {
+            return mode;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * @return Archive path without extension; the files are {@code <archive>.dat} and {@code <archive>.idx}
+         */
+        public Path getArchive() {
+            return archive;
+        }
+
+        public Path getReportDir() {
+            return reportDir;
+        }
+
+        /**
+         * @return Application URL the proxy stands in front of (baseUrl, or the stand-in's URL)
+         */
+        public String getUpstreamUrl() {
+            return upstreamUrl;
+        }
+    }
+
+    /**
+     * Load mode settings: virtual users replaying one feature over the API layer
+     */
+    public static final class Load {
+        private final String feature;
+        private final int users;
+        private final Duration rampUp;
+        private final Duration duration;
+        private final int iterations;
+        private final Duration thinkTime;
+        private final Duration window;
+        private final double maxErrorRate;
+
+        private Load(Values values) {
+            feature = values.string("load.feature", "");
+            users = values.integer("load.users", 10);
+            rampUp = values.duration("load.rampUp", "10", ChronoUnit.SECONDS);
+            duration = values.duration("load.duration", "60", ChronoUnit.SECONDS);
+            iterations = values.integer("load.iterations", 1);
+            thinkTime = values.duration("load.thinkTime", "0", ChronoUnit.MILLIS);
+            window = values.duration("load.window", "5", ChronoUnit.SECONDS);
+            maxErrorRate = values.decimal("load.maxErrorRate", 0);
+        }
+
+        /**
+         * @return Feature file name or path suffix (accounts.feature), empty for every feature of the runner
+         */
+        public String getFeature() {
+            return feature;
+        }
+
+        /**
+         * @return Number of virtual users, each running the feature's scenarios in a loop on its own thread
+         */
+        public int getUsers() {
+            return users;
+        }
+
+        /**
+         * @return Time over which the virtual users are started, evenly spaced
+         */
+        public Duration getRampUp() {
+            return rampUp;
+        }
+
+        /**
+         * @return Length of the run including the ramp-up; zero to run a fixed number of iterations instead
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return Passes over the feature per virtual user when the duration is zero
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * @return Pause of a virtual user between two scenarios
+         */
+        public Duration getThinkTime() {
+            return thinkTime;
+        }
+
+        /**
+         * @return Width of the reporting windows for throughput and latency percentiles
+         */
+        public Duration getWindow() {
+            return window;
+        }
+
+        /**
+         * @return Percentage of failed scenarios above which the load run fails
+         */
+        public double getMaxErrorRate() {
+            return maxErrorRate;
+        }
+    }
+
+    /**
+     * Typed reads over the merged properties; invalid values are collected and reported together
+     */
+    private static final class Values {
+        private final Map<String, String> properties;
+        private final List<String> errors = new ArrayList<>();
+
+        private Values(Map<String, String> properties) {
+            this.properties = properties;
+        }
+
+        private String string(String key, String defaultValue) {
+            String value = properties.get(key);
+            if (value == null) {
+                // Key without a line in the property files: -Dkey or PARABANK_KEY may still set it
+                value = ConfigReader.override(key);
+            }
+            return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+        }
+
+        private String required(String key) {
+            String value = string(key, null);
+            if (value == null) {
+                errors.add(key + " (missing)");
+            }
+            return value;
+        }
+
+        private int integer(String key, int defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                errors.add(key + "=" + value + " (expected an integer)");
+                return defaultValue;
+            }
+        }
+
+        private double decimal(String key, double defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                errors.add(key + "=" + value + " (expected a number)");
+                return defaultValue;
+            }
+        }
+
+        private boolean bool(String key, boolean defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                errors.add(key + "=" + value + " (expected true or false)");
+                return defaultValue;
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        private Duration duration(String key, String defaultValue, ChronoUnit defaultUnit) {
+            String value = string(key, defaultValue);
+            Matcher matcher = DURATION.matcher(value.toLowerCase(Locale.ROOT));
+            if (!matcher.matches()) {
+                errors.add(key + "=" + value + " (expected a duration such as 500ms, 30s or 2m)");
+                matcher = DURATION.matcher(defaultValue);
+                matcher.matches();
+            }
+            long amount = Long.parseLong(matcher.group(1));
+            String unit = matcher.group(2);
+            if (unit == null) {
+                return Duration.of(amount, defaultUnit);
+            }
+            switch (unit) {
+                case "ms":
+                    return Duration.ofMillis(amount);
+                case "s":
+                    return Duration.ofSeconds(amount);
+                case "m":
+                    return Duration.ofMinutes(amount);
+                default:
+                    return Duration.ofHours(amount);
+            }
+        }
+
+        private List<String> list(String key, String defaultValue) {
+            List<String> items = new ArrayList<>();
+            for (String item : string(key, defaultValue).split(",")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+            return Collections.unmodifiableList(items);
+        }
+
+        private Path path(String key, String defaultValue) {
+            return Paths.get(string(key, defaultValue));
+        }
+
+        private <E extends Enum<E>> E enumValue(String key, E defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Enum.valueOf(defaultValue.getDeclaringClass(), value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                List<String> allowed = new ArrayList<>();
+                for (E constant : defaultValue.getDeclaringClass().getEnumConstants()) {
+                    allowed.add(constant.name().toLowerCase(Locale.ROOT));
+                }
+                errors.add(key + "=" + value + " (expected one of " + allowed + ")");
+                return defaultValue;
+            }
+        }
+
+        private void failOnErrors() {
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Invalid configuration: " + String.join(", ", errors));
+            }
+        }
+    }
+}
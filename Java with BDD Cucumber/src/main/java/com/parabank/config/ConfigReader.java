@@ -1,30 +1,56 @@
 package com.parabank.config;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 /**
- * Configuration manager for reading properties from config file
+ * Configuration manager for reading properties from config file.
+ * <p>
+ * The configuration is resolved once, in increasing order of precedence, from:
+ * <ol>
+ *     <li>{@code config.properties} on the classpath</li>
+ *     <li>{@code config-<profile>.properties} of the active profile (local, ci, load), selected with
+ *         {@code -Dprofile=ci}, the {@code PARABANK_PROFILE} environment variable or the {@code profile} key</li>
+ *     <li>environment variables named {@code PARABANK_<KEY>}, upper case with dots as underscores
+ *         ({@code wait.scenarioBudget} is {@code PARABANK_WAIT_SCENARIOBUDGET})</li>
+ *     <li>system properties ({@code -Dbrowser=firefox})</li>
+ * </ol>
+ * Overrides apply to every key the framework reads, including keys that only have a default in
+ * {@link Config}; unrelated system properties ({@code java.*}, {@code os.*}, ...) are never copied in.
+ * The result is immutable: {@link #get()} returns the typed {@link Config} snapshot the drivers, waits
+ * and pools are tuned from, and {@link #getProperty(String)} reads the merged raw values. Neither locks.
  */
 public class ConfigReader {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/main/resources/config.properties";
+    private static final String CONFIG_FILE = "config.properties";
+    private static final String PROFILE_KEY = "profile";
+    private static final String DEFAULT_PROFILE = "local";
+    private static final String ENVIRONMENT_PREFIX = "PARABANK_";
+
+    private static final Map<String, String> properties;
+    private static final Config config;
 
     static {
-        loadProperties();
+        Map<String, String> merged = new HashMap<>(load(CONFIG_FILE, true));
+        String profile = resolve(PROFILE_KEY, merged.getOrDefault(PROFILE_KEY, DEFAULT_PROFILE));
+        merged.putAll(load("config-" + profile + ".properties", false));
+        merged.put(PROFILE_KEY, profile);
+        applyOverrides(merged);
+        properties = Collections.unmodifiableMap(merged);
+        config = new Config(profile, properties);
     }
 
     /**
-     * Load properties from config file
+     * Get the typed configuration snapshot
+     *
+     * @return Configuration
      */
-    private static void loadProperties() {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
-            properties.load(fis);
-        } catch (IOException e) {
-            System.out.println("Error loading config file: " + e.getMessage());
-        }
+    public static Config get() {
+        return config;
     }
 
     /**
@@ -34,7 +60,8 @@ public class ConfigReader {
      * @return Property value
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        String value = properties.get(key);
+        return value != null ? value : override(key);
     }
 
     /**
@@ -45,6 +72,64 @@ public class ConfigReader {
      * @return Property value or default
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get the system property or environment override of a key
+     *
+     * @param key Property key
+     * @return Override value, or null if neither -Dkey nor PARABANK_KEY is set
+     */
+    static String override(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(environmentName(key));
+        }
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Load a properties file from the classpath
+     */
+    private static Map<String, String> load(String resource, boolean required) {
+        Map<String, String> values = new HashMap<>();
+        try (InputStream in = ConfigReader.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                if (required) {
+                    throw new IllegalStateException(resource + " not found on the classpath");
+                }
+                return values;
+            }
+            Properties fileProperties = new Properties();
+            fileProperties.load(in);
+            fileProperties.stringPropertyNames().forEach(name -> values.put(name, fileProperties.getProperty(name).trim()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error loading " + resource + ": " + e.getMessage(), e);
+        }
+        return values;
+    }
+
+    /**
+     * Apply environment and system property overrides to the keys of the files. Keys that only have a
+     * code default are resolved through {@link #override(String)} when {@link Config} reads them.
+     */
+    private static void applyOverrides(Map<String, String> merged) {
+        for (Map.Entry<String, String> entry : merged.entrySet()) {
+            String value = override(entry.getKey());
+            if (value != null) {
+                entry.setValue(value);
+            }
+        }
+    }
+
+    private static String resolve(String key, String fileValue) {
+        String value = System.getProperty(key, System.getenv(environmentName(key)));
+        return value == null || value.trim().isEmpty() ? fileValue : value.trim();
+    }
+
+    private static String environmentName(String key) {
+        return ENVIRONMENT_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_');
     }
 }
@@ -0,0 +1,70 @@
+package com.parabank.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import com.parabank.utils.LogUtils;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of Chrome DevTools sessions, one per driver, shared by the DevTools-based features
+ */
+public class DevToolsSessions {
+    private static final Map<WebDriver, DevTools> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Open (or reuse) the DevTools session of a driver
+     *
+     * @param driver WebDriver instance
+     * @return DevTools session, or empty if the browser does not support it
+     */
+    public static Optional<DevTools> open(WebDriver driver) {
+        DevTools existing = sessions.get(driver);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+        if (!(driver instanceof HasDevTools)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            if (devTools.isPresent()) {
+                devTools.get().createSessionIfThereIsNotOne();
+                sessions.put(driver, devTools.get());
+            }
+            return devTools;
+        } catch (RuntimeException e) {
+            LogUtils.warn("DevTools not available for {}: {}", driver.getClass().getSimpleName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get the DevTools session previously opened for a driver
+     *
+     * @param driver WebDriver instance
+     * @return DevTools session, or empty if none is open
+     */
+    public static Optional<DevTools> get(WebDriver driver) {
+        return Optional.ofNullable(sessions.get(driver));
+    }
+
+    /**
+     * Close the DevTools session of a driver that is about to quit
+     *
+     * @param driver WebDriver instance
+     */
+    public static void close(WebDriver driver) {
+        DevTools devTools = sessions.remove(driver);
+        if (devTools != null) {
+            try {
+                devTools.clearListeners();
+                devTools.close();
+            } catch (RuntimeException e) {
+                LogUtils.debug("Ignoring DevTools close failure: {}", e.getMessage());
+            }
+        }
+    }
+}
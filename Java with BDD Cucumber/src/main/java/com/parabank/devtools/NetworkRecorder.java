@@ -0,0 +1,418 @@
+package com.parabank.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LatencyHistogram;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HAR-style request timing capture for Chromium browsers (network.recording=true).
+ * <p>
+ * Each scenario gets {@code <network.reportDir>/har/<scenarioId>.har.jsonl}: one JSON line per action
+ * (every {@code BaseClass.navigateToUrl} and click, with its duration) and one per finished request, with
+ * the HAR timing phases (blocked, dns, connect, ssl, send, wait, receive) and the index of the action it
+ * followed. Lines are written as the DevTools events arrive, so only requests in flight are held in
+ * memory. {@code slowest-endpoints.csv} ranks endpoints (method and URL without query) across the run.
+ */
+public class NetworkRecorder {
+    private static final Config.Network CONFIG = ConfigReader.get().network();
+    private static final Json JSON = new Json();
+    private static final int SUMMARY_LOG_LINES = 5;
+
+    private static final Action NO_ACTION = () -> { };
+
+    private static final Map<WebDriver, Recording> recordings = new ConcurrentHashMap<>();
+    private static final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Action being timed; ends when the driver call returns
+     */
+    public interface Action {
+        void end();
+    }
+
+    /**
+     * Check whether request timings are recorded
+     *
+     * @return true if enabled in config
+     */
+    public static boolean isEnabled() {
+        return CONFIG.isRecording();
+    }
+
+    /**
+     * Subscribe to the network events of a newly created driver
+     *
+     * @param driver WebDriver instance
+     * @return true if timings are captured, false if the browser has no DevTools support
+     */
+    public static boolean attach(WebDriver driver) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Optional<DevTools> session = DevToolsSessions.open(driver);
+        if (session.isEmpty()) {
+            LogUtils.info("Network recording unavailable for {}", driver.getClass().getSimpleName());
+            return false;
+        }
+
+        DevTools devTools = session.get();
+        Recording recording = new Recording();
+        try {
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.addListener(event("Network.requestWillBeSent"), recording::requestWillBeSent);
+            devTools.addListener(event("Network.responseReceived"), recording::responseReceived);
+            devTools.addListener(event("Network.loadingFinished"), recording::loadingFinished);
+            devTools.addListener(event("Network.loadingFailed"), recording::loadingFailed);
+        } catch (RuntimeException e) {
+            LogUtils.warn("Could not enable network recording: {}", e.getMessage());
+            return false;
+        }
+        recordings.put(driver, recording);
+        return true;
+    }
+
+    /**
+     * Stop recording a driver that is about to quit
+     *
+     * @param driver WebDriver instance
+     */
+    public static void detach(WebDriver driver) {
+        Recording recording = recordings.remove(driver);
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Start streaming the driver's requests to the scenario's file
+     *
+     * @param driver WebDriver leased by the scenario
+     * @param scenarioId File-name-safe scenario id
+     */
+    public static void startScenario(WebDriver driver, String scenarioId) {
+        Recording recording = driver == null ? null : recordings.get(driver);
+        if (recording != null) {
+            recording.open(CONFIG.getReportDir().resolve("har").resolve(scenarioId + ".har.jsonl"), scenarioId);
+        }
+    }
+
+    /**
+     * Close the scenario's file; requests still in flight are not written
+     *
+     * @param driver WebDriver leased by the scenario
+     */
+    public static void endScenario(WebDriver driver) {
+        Recording recording = driver == null ? null : recordings.get(driver);
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Start timing a navigation or click; requests that follow are attributed to it
+     *
+     * @param driver WebDriver performing the action
+     * @param kind Action kind (navigate, click)
+     * @param target URL or locator
+     * @return Action to end when the driver call returns
+     */
+    public static Action startAction(WebDriver driver, String kind, String target) {
+        Recording recording = recordings.isEmpty() ? null : recordings.get(driver);
+        return recording == null ? NO_ACTION : recording.startAction(kind, target);
+    }
+
+    /**
+     * Write the endpoints ranked by 95th percentile time and log the slowest
+     */
+    public static void writeSummary() {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, EndpointStats>> entries = new ArrayList<>(endpoints.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().time.getPercentile(95), a.getValue().time.getPercentile(95)));
+        Path file = CONFIG.getReportDir().resolve("slowest-endpoints.csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("endpoint,requests,failed,avgMs,p95Ms,maxMs,avgWaitMs,p95WaitMs,avgBytes");
+                writer.newLine();
+                for (Map.Entry<String, EndpointStats> entry : entries) {
+                    EndpointStats stats = entry.getValue();
+                    writer.write("\"" + entry.getKey().replace("\"", "\"\"") + "\"," + stats.time.getCount() + ","
+                        + stats.failed + "," + Math.round(stats.time.getMean()) + "," + stats.time.getPercentile(95) + ","
+                        + stats.time.getMax() + "," + Math.round(stats.wait.getMean()) + "," + stats.wait.getPercentile(95)
+                        + "," + (stats.time.getCount() == 0 ? 0 : stats.bytes / stats.time.getCount()));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            LogUtils.error("Failed to write network summary: {}", e.getMessage());
+            return;
+        }
+        for (Map.Entry<String, EndpointStats> entry : entries.subList(0, Math.min(SUMMARY_LOG_LINES, entries.size()))) {
+            EndpointStats stats = entry.getValue();
+            LogUtils.info("Slow endpoint: {} p95={}ms max={}ms server wait p95={}ms ({} requests)", entry.getKey(),
+                stats.time.getPercentile(95), stats.time.getMax(), stats.wait.getPercentile(95), stats.time.getCount());
+        }
+        LogUtils.info("Network timings written to {}", CONFIG.getReportDir());
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, NetworkRecorder::readParams);
+    }
+
+    private static Map<String, Object> readParams(JsonInput input) {
+        Map<String, Object> params = input.read(Json.MAP_TYPE);
+        return params == null ? new HashMap<>() : params;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> params, String key) {
+        Object value = params.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static double number(Map<String, Object> params, String key) {
+        Object value = params.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    /**
+     * Duration between two DevTools timing offsets, -1 (HAR's "not applicable") if either is missing
+     */
+    private static long phase(double start, double end) {
+        return start < 0 || end < 0 ? -1 : Math.round(end - start);
+    }
+
+    private static String endpoint(String method, String url) {
+        int query = url.indexOf('?');
+        return method + " " + (query < 0 ? url : url.substring(0, query));
+    }
+
+    /**
+     * Requests of one browser; events arrive on the DevTools connection thread, actions on the scenario thread
+     */
+    private static class Recording {
+        private final Map<String, PendingRequest> pending = new ConcurrentHashMap<>();
+        private BufferedWriter writer;
+        private Path file;
+        private int actionIndex;
+
+        private synchronized void open(Path file, String scenarioId) {
+            close();
+            pending.clear();
+            actionIndex = 0;
+            try {
+                Files.createDirectories(file.getParent());
+                this.file = file;
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                Map<String, Object> header = new LinkedHashMap<>();
+                header.put("scenario", scenarioId);
+                header.put("startedDateTime", Instant.now().toString());
+                header.put("creator", "parabank-network-recorder");
+                writeLine(header);
+            } catch (IOException e) {
+                LogUtils.warn("Could not open network recording {}: {}", file, e.getMessage());
+                writer = null;
+            }
+        }
+
+        private synchronized void close() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+                LogUtils.debug("Network recording written to {} ({} requests still in flight)", file, pending.size());
+            } catch (IOException e) {
+                LogUtils.warn("Could not close network recording {}: {}", file, e.getMessage());
+            }
+            writer = null;
+        }
+
+        private synchronized Action startAction(String kind, String target) {
+            int index = ++actionIndex;
+            Instant started = Instant.now();
+            long startNanos = System.nanoTime();
+            return () -> {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("action", index);
+                line.put("kind", kind);
+                line.put("target", target);
+                line.put("startedDateTime", started.toString());
+                line.put("time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                synchronized (this) {
+                    writeLine(line);
+                }
+            };
+        }
+
+        private void requestWillBeSent(Map<String, Object> params) {
+            String requestId = (String) params.get("requestId");
+            if (requestId == null) {
+                return;
+            }
+            Map<String, Object> redirectResponse = child(params, "redirectResponse");
+            PendingRequest previousHop = pending.remove(requestId);
+            if (previousHop != null && !redirectResponse.isEmpty()) {
+                previousHop.response = redirectResponse;
+                finish(previousHop, number(params, "timestamp"), 0, null);
+            }
+            Map<String, Object> request = child(params, "request");
+            PendingRequest pendingRequest = new PendingRequest();
+            pendingRequest.url = String.valueOf(request.get("url"));
+            pendingRequest.method = String.valueOf(request.get("method"));
+            pendingRequest.type = String.valueOf(params.get("type"));
+            pendingRequest.timestamp = number(params, "timestamp");
+            pendingRequest.wallTime = number(params, "wallTime");
+            synchronized (this) {
+                pendingRequest.action = actionIndex;
+            }
+            pending.put(requestId, pendingRequest);
+        }
+
+        private void responseReceived(Map<String, Object> params) {
+            PendingRequest pendingRequest = pending.get(String.valueOf(params.get("requestId")));
+            if (pendingRequest != null) {
+                pendingRequest.response = child(params, "response");
+            }
+        }
+
+        private void loadingFinished(Map<String, Object> params) {
+            PendingRequest pendingRequest = pending.remove(String.valueOf(params.get("requestId")));
+            if (pendingRequest != null) {
+                finish(pendingRequest, number(params, "timestamp"), (long) number(params, "encodedDataLength"), null);
+            }
+        }
+
+        private void loadingFailed(Map<String, Object> params) {
+            PendingRequest pendingRequest = pending.remove(String.valueOf(params.get("requestId")));
+            if (pendingRequest != null) {
+                Object reason = params.containsKey("blockedReason") ? params.get("blockedReason") : params.get("errorText");
+                finish(pendingRequest, number(params, "timestamp"), 0, String.valueOf(reason));
+            }
+        }
+
+        private void finish(PendingRequest request, double endTimestamp, long bytes, String error) {
+            long time = request.timestamp < 0 || endTimestamp < 0 ? -1 : Math.round((endTimestamp - request.timestamp) * 1000);
+            Map<String, Object> response = request.response == null ? Map.of() : request.response;
+            Map<String, Object> timing = child(response, "timing");
+
+            Map<String, Object> timings = new LinkedHashMap<>();
+            long wait = -1;
+            if (!timing.isEmpty()) {
+                double requestTime = number(timing, "requestTime");
+                double sendEnd = number(timing, "sendEnd");
+                double headersEnd = number(timing, "receiveHeadersEnd");
+                wait = phase(sendEnd, headersEnd);
+                timings.put("blocked", phase(request.timestamp * 1000, requestTime * 1000));
+                timings.put("dns", phase(number(timing, "dnsStart"), number(timing, "dnsEnd")));
+                timings.put("connect", phase(number(timing, "connectStart"), number(timing, "connectEnd")));
+                timings.put("ssl", phase(number(timing, "sslStart"), number(timing, "sslEnd")));
+                timings.put("send", phase(number(timing, "sendStart"), sendEnd));
+                timings.put("wait", wait);
+                timings.put("receive", endTimestamp < 0 || headersEnd < 0 ? -1
+                    : Math.round(endTimestamp * 1000 - (requestTime * 1000 + headersEnd)));
+            }
+
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("action", request.action);
+            line.put("startedDateTime", request.wallTime < 0 ? null
+                : Instant.ofEpochMilli(Math.round(request.wallTime * 1000)).toString());
+            line.put("time", time);
+            line.put("method", request.method);
+            line.put("url", request.url);
+            line.put("type", request.type);
+            line.put("status", response.get("status"));
+            line.put("mimeType", response.get("mimeType"));
+            line.put("bodySize", bytes);
+            line.put("fromCache", Boolean.TRUE.equals(response.get("fromDiskCache")));
+            line.put("timings", timings);
+            if (error != null) {
+                line.put("error", error);
+            }
+            synchronized (this) {
+                writeLine(line);
+            }
+
+            EndpointStats stats = endpoints.computeIfAbsent(endpoint(request.method, request.url), key -> new EndpointStats());
+            stats.record(time, wait, bytes, error != null);
+        }
+
+        /**
+         * Append one JSON line; callers hold the recording's lock
+         */
+        private void writeLine(Map<String, Object> line) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                StringBuilder json = new StringBuilder(256);
+                JSON.newOutput(json).setPrettyPrint(false).write(line);
+                // Selenium's JSON output escapes every '/' as a unicode escape, which bloats URLs
+                writer.write(json.toString().replace("\\u002f", "/"));
+                writer.newLine();
+            } catch (IOException e) {
+                LogUtils.warn("Network recording {} failed, stopping it: {}", file, e.getMessage());
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Request between requestWillBeSent and loadingFinished / loadingFailed
+     */
+    private static class PendingRequest {
+        private String url;
+        private String method;
+        private String type;
+        private double timestamp;
+        private double wallTime;
+        private int action;
+        private volatile Map<String, Object> response;
+    }
+
+    /**
+     * Run-wide timings of one endpoint
+     */
+    private static class EndpointStats {
+        private final LatencyHistogram time = new LatencyHistogram();
+        private final LatencyHistogram wait = new LatencyHistogram();
+        private long bytes;
+        private long failed;
+
+        private synchronized void record(long timeMillis, long waitMillis, long responseBytes, boolean requestFailed) {
+            if (timeMillis >= 0) {
+                time.record(timeMillis);
+            }
+            if (waitMillis >= 0) {
+                wait.record(waitMillis);
+            }
+            bytes += responseBytes;
+            if (requestFailed) {
+                failed++;
+            }
+        }
+    }
+}
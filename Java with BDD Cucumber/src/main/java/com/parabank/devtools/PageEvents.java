@@ -0,0 +1,293 @@
+package com.parabank.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LogUtils;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event-driven page activity tracking for Chromium browsers.
+ * Navigation, network and DOM mutation events arrive over the DevTools connection and wake up
+ * waiting threads, so waits re-check their condition when the page actually changes instead of on
+ * a fixed polling tick. Browsers without DevTools support are simply not attached and waits fall
+ * back to polling.
+ */
+public class PageEvents {
+    private static final String BINDING_NAME = "__parabankDomChanged";
+
+    /**
+     * Injected into every document: report DOM mutations through the DevTools binding,
+     * coalesced to at most one notification per 10 ms
+     */
+    private static final String MUTATION_OBSERVER_SCRIPT =
+        "(function() {"
+        + "  if (window.__parabankObserver) { return; }"
+        + "  window.__parabankObserver = true;"
+        + "  var pending = false;"
+        + "  function notify() {"
+        + "    if (pending) { return; }"
+        + "    pending = true;"
+        + "    setTimeout(function() { pending = false; try { " + BINDING_NAME + "(''); } catch (e) {} }, 10);"
+        + "  }"
+        + "  new MutationObserver(notify).observe(document,"
+        + "    { childList: true, subtree: true, attributes: true, characterData: true });"
+        + "})();";
+
+    private static final long REQUEST_STALE_MILLIS = 10000;
+
+    private static final Map<WebDriver, Signal> signals = new ConcurrentHashMap<>();
+    private static final AtomicLong eventsReceived = new AtomicLong();
+    private static final AtomicLong wakeupsByEvent = new AtomicLong();
+    private static final AtomicLong wakeupsByTimer = new AtomicLong();
+
+    /**
+     * Check whether event-driven waits are enabled in config
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.get().waits().isEventDriven();
+    }
+
+    /**
+     * Subscribe to page events of a newly created driver
+     *
+     * @param driver WebDriver instance
+     * @return true if events are available, false if waits for this driver will poll
+     */
+    public static boolean attach(WebDriver driver) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Optional<DevTools> session = DevToolsSessions.open(driver);
+        if (session.isEmpty()) {
+            LogUtils.info("Page events unavailable for {}, waits will poll", driver.getClass().getSimpleName());
+            return false;
+        }
+
+        DevTools devTools = session.get();
+        Signal signal = new Signal();
+        try {
+            devTools.send(new Command<>("Page.enable", Map.of()));
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Runtime.enable", Map.of()));
+            devTools.send(new Command<>("Runtime.addBinding", Map.of("name", BINDING_NAME)));
+            devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", MUTATION_OBSERVER_SCRIPT)));
+
+            Map<String, Object> frameTree = devTools.send(new Command<>("Page.getFrameTree", Map.of(),
+                PageEvents::readParams));
+            signal.rememberMainFrame(frame(frameTree.get("frameTree")));
+
+            // Only the main frame gates settling: its load event is the one that clears the flag, so an
+            // iframe starting to load after it would otherwise keep the page "loading" until the next navigation
+            devTools.addListener(event("Page.frameStartedLoading"),
+                params -> signal.frameStartedLoading((String) params.get("frameId")));
+            devTools.addListener(event("Page.loadEventFired"), params -> signal.loadingFinished());
+            devTools.addListener(event("Page.frameNavigated"), params -> signal.frameNavigated(frame(params)));
+            devTools.addListener(event("Page.domContentEventFired"), params -> signal.activity());
+            devTools.addListener(event("Runtime.bindingCalled"), params -> {
+                if (BINDING_NAME.equals(params.get("name"))) {
+                    signal.activity();
+                }
+            });
+            devTools.addListener(event("Network.requestWillBeSent"),
+                params -> signal.requestStarted((String) params.get("requestId")));
+            devTools.addListener(event("Network.loadingFinished"),
+                params -> signal.requestFinished((String) params.get("requestId")));
+            devTools.addListener(event("Network.loadingFailed"),
+                params -> signal.requestFinished((String) params.get("requestId")));
+        } catch (RuntimeException e) {
+            LogUtils.warn("Could not subscribe to page events, waits will poll: {}", e.getMessage());
+            return false;
+        }
+
+        signals.put(driver, signal);
+        return true;
+    }
+
+    /**
+     * Forget the page events of a driver that is about to quit
+     *
+     * @param driver WebDriver instance
+     */
+    public static void detach(WebDriver driver) {
+        signals.remove(driver);
+        DevToolsSessions.close(driver);
+    }
+
+    /**
+     * Get the event signal of a driver
+     *
+     * @param driver WebDriver instance
+     * @return Signal, or null if the driver is not attached (waits should poll)
+     */
+    public static Signal signalFor(WebDriver driver) {
+        return signals.get(driver);
+    }
+
+    /**
+     * Log how often waits were woken up by page events compared with the fallback timer
+     */
+    public static void logStatistics() {
+        LogUtils.info("Page events: received={}, wait wakeups by event={}, by fallback timer={}",
+            eventsReceived.get(), wakeupsByEvent.get(), wakeupsByTimer.get());
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, PageEvents::readParams);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> frame(Object container) {
+        Object frame = container instanceof Map ? ((Map<String, Object>) container).get("frame") : null;
+        return frame instanceof Map ? (Map<String, Object>) frame : Map.of();
+    }
+
+    private static Map<String, Object> readParams(JsonInput input) {
+        Map<String, Object> params = input.read(Json.MAP_TYPE);
+        return params == null ? new HashMap<>() : params;
+    }
+
+    /**
+     * Page activity of one browser, updated from the DevTools connection thread
+     */
+    public static class Signal {
+        private final Object lock = new Object();
+        private final Map<String, Long> inflightRequests = new HashMap<>();
+        private long version;
+        private long lastActivityNanos = System.nanoTime();
+        private boolean loading;
+        private volatile String mainFrameId;
+
+        /**
+         * Get a counter that changes whenever the page does something
+         *
+         * @return Current version
+         */
+        public long version() {
+            synchronized (lock) {
+                return version;
+            }
+        }
+
+        /**
+         * Block until the page changes after the given version, or the timeout elapses
+         *
+         * @param seenVersion Version observed before the last condition check
+         * @param timeoutMillis Maximum time to block
+         */
+        public void awaitChange(long seenVersion, long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            synchronized (lock) {
+                long remaining;
+                while (version == seenVersion && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+                if (version != seenVersion) {
+                    wakeupsByEvent.incrementAndGet();
+                } else {
+                    wakeupsByTimer.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Block until navigation has finished, no requests are in flight and nothing happened on the
+         * page for the quiet period
+         *
+         * @param quietMillis Required period without activity
+         * @param timeoutMillis Maximum time to block
+         * @return true if the page settled within the timeout
+         */
+        public boolean awaitSettled(long quietMillis, long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            long quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+            synchronized (lock) {
+                while (true) {
+                    long now = System.nanoTime();
+                    inflightRequests.values().removeIf(started -> now - started > TimeUnit.MILLISECONDS.toNanos(REQUEST_STALE_MILLIS));
+                    long quietFor = now - lastActivityNanos;
+                    if (!loading && inflightRequests.isEmpty() && quietFor >= quietNanos) {
+                        return true;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    long untilQuiet = Math.max(TimeUnit.MILLISECONDS.toNanos(1), quietNanos - quietFor);
+                    TimeUnit.NANOSECONDS.timedWait(lock, Math.min(remaining, untilQuiet));
+                }
+            }
+        }
+
+        private void activity() {
+            eventsReceived.incrementAndGet();
+            synchronized (lock) {
+                version++;
+                lastActivityNanos = System.nanoTime();
+                lock.notifyAll();
+            }
+        }
+
+        private void rememberMainFrame(Map<String, Object> frame) {
+            // The main frame is the one without a parent
+            if (frame.get("id") != null && frame.get("parentId") == null) {
+                mainFrameId = (String) frame.get("id");
+            }
+        }
+
+        private void frameNavigated(Map<String, Object> frame) {
+            rememberMainFrame(frame);
+            activity();
+        }
+
+        private void frameStartedLoading(String frameId) {
+            String mainFrame = mainFrameId;
+            if (mainFrame != null && !mainFrame.equals(frameId)) {
+                // Subframe: its requests are tracked, the page itself is not navigating
+                activity();
+                return;
+            }
+            synchronized (lock) {
+                loading = true;
+            }
+            activity();
+        }
+
+        private void loadingFinished() {
+            synchronized (lock) {
+                loading = false;
+            }
+            activity();
+        }
+
+        private void requestStarted(String requestId) {
+            if (requestId != null) {
+                synchronized (lock) {
+                    inflightRequests.put(requestId, System.nanoTime());
+                }
+            }
+            activity();
+        }
+
+        private void requestFinished(String requestId) {
+            if (requestId != null) {
+                synchronized (lock) {
+                    inflightRequests.remove(requestId);
+                }
+            }
+            activity();
+        }
+    }
+}
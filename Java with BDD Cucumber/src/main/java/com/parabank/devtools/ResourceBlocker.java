@@ -0,0 +1,426 @@
+package com.parabank.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Blocks requests the assertions never look at (images, fonts, third-party assets) in Chromium browsers.
+ * <p>
+ * With network.blocking=block the DevTools Fetch domain pauses only requests whose resource type is in
+ * network.blockTypes or whose URL matches network.denyPatterns; they fail with BlockedByClient unless
+ * network.allowPatterns matches. Everything else is never paused, so regular traffic pays no
+ * interception round trip. With network.blocking=report nothing is blocked: requests
+ * that would be are only recorded, with their real size.
+ * <p>
+ * Blocked requests are never downloaded, so bytes saved are estimated from the size each URL had when it
+ * was last loaded. Sizes are kept in {@code resource-sizes.csv} in network.reportDir and seed the next
+ * run, so a report run followed by block runs gives exact numbers. Per-scenario totals go to
+ * {@code scenarios.csv}, blocked URLs to {@code blocked.csv}.
+ */
+public class ResourceBlocker {
+    private static final Config.Network CONFIG = ConfigReader.get().network();
+    private static final Path SIZES_FILE = CONFIG.getReportDir().resolve("resource-sizes.csv");
+
+    private static final List<Pattern> DENY = globs(CONFIG.getDenyPatterns());
+    private static final List<Pattern> ALLOW = globs(CONFIG.getAllowPatterns());
+    private static final List<String> BLOCK_TYPES = resourceTypes(CONFIG.getBlockTypes());
+
+    private static final Map<WebDriver, Traffic> traffic = new ConcurrentHashMap<>();
+    private static final Map<String, Long> sizes = new ConcurrentHashMap<>();
+    private static final Map<String, BlockedResource> blocked = new ConcurrentHashMap<>();
+    private static final Queue<ScenarioTraffic> scenarios = new ConcurrentLinkedQueue<>();
+
+    static {
+        loadSizes();
+    }
+
+    /**
+     * Check whether requests are blocked or reported
+     *
+     * @return true unless network.blocking=off
+     */
+    public static boolean isEnabled() {
+        return CONFIG.getBlocking() != Config.BlockingMode.OFF;
+    }
+
+    /**
+     * Start blocking (or reporting) requests of a newly created driver
+     *
+     * @param driver WebDriver instance
+     * @return true if requests are intercepted, false if the browser has no DevTools support
+     */
+    public static boolean attach(WebDriver driver) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Optional<DevTools> session = DevToolsSessions.open(driver);
+        if (session.isEmpty()) {
+            LogUtils.info("Request blocking unavailable for {}", driver.getClass().getSimpleName());
+            return false;
+        }
+
+        DevTools devTools = session.get();
+        Traffic driverTraffic = new Traffic();
+        try {
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.addListener(event("Network.requestWillBeSent"), params -> driverTraffic.requestStarted(params));
+            devTools.addListener(event("Network.loadingFinished"), params -> driverTraffic.requestFinished(
+                (String) params.get("requestId"), ((Number) params.get("encodedDataLength")).longValue()));
+            devTools.addListener(event("Network.loadingFailed"),
+                params -> driverTraffic.requests.remove(String.valueOf(params.get("requestId"))));
+
+            if (CONFIG.getBlocking() == Config.BlockingMode.BLOCK) {
+                devTools.addListener(event("Fetch.requestPaused"), params -> paused(devTools, driverTraffic, params));
+                devTools.send(new Command<>("Fetch.enable", Map.of("patterns", fetchPatterns())));
+            }
+        } catch (RuntimeException e) {
+            LogUtils.warn("Could not enable request blocking: {}", e.getMessage());
+            return false;
+        }
+        traffic.put(driver, driverTraffic);
+        return true;
+    }
+
+    /**
+     * Forget a driver that is about to quit
+     *
+     * @param driver WebDriver instance
+     */
+    public static void detach(WebDriver driver) {
+        traffic.remove(driver);
+    }
+
+    /**
+     * Reset the counters of a driver at the start of a scenario
+     *
+     * @param driver WebDriver leased by the scenario
+     */
+    public static void startScenario(WebDriver driver) {
+        Traffic driverTraffic = driver == null ? null : traffic.get(driver);
+        if (driverTraffic != null) {
+            driverTraffic.reset();
+        }
+    }
+
+    /**
+     * Record and log what was blocked while the scenario used the driver
+     *
+     * @param driver WebDriver leased by the scenario
+     * @param scenarioName Scenario name
+     */
+    public static void endScenario(WebDriver driver, String scenarioName) {
+        Traffic driverTraffic = driver == null ? null : traffic.get(driver);
+        if (driverTraffic == null) {
+            return;
+        }
+        ScenarioTraffic result = new ScenarioTraffic(scenarioName, driverTraffic.blockedRequests.get(),
+            driverTraffic.blockedBytes.get(), driverTraffic.unknownSize.get(), driverTraffic.loadedBytes.get());
+        scenarios.add(result);
+        LogUtils.info("{} {} requests (~{} KB, {} of unknown size), loaded {} KB",
+            CONFIG.getBlocking() == Config.BlockingMode.BLOCK ? "Blocked" : "Would block", result.requests,
+            result.bytes / 1024, result.unknownSize, result.loadedBytes / 1024);
+    }
+
+    /**
+     * Write per-scenario totals, blocked URLs and learned resource sizes to network.reportDir
+     */
+    public static void writeReports() {
+        if (!isEnabled()) {
+            return;
+        }
+        Path directory = CONFIG.getReportDir();
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("scenarios.csv"), StandardCharsets.UTF_8)) {
+                writer.write("scenario,mode,blockedRequests,blockedBytes,unknownSize,loadedBytes");
+                writer.newLine();
+                for (ScenarioTraffic scenario : scenarios) {
+                    writer.write(csv(scenario.name) + "," + CONFIG.getBlocking().name().toLowerCase(Locale.ROOT) + ","
+                        + scenario.requests + "," + scenario.bytes + "," + scenario.unknownSize + "," + scenario.loadedBytes);
+                    writer.newLine();
+                }
+            }
+            List<Map.Entry<String, BlockedResource>> entries = new ArrayList<>(blocked.entrySet());
+            entries.sort((a, b) -> Long.compare(b.getValue().count.get(), a.getValue().count.get()));
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("blocked.csv"), StandardCharsets.UTF_8)) {
+                writer.write("url,type,count,bytesEach");
+                writer.newLine();
+                for (Map.Entry<String, BlockedResource> entry : entries) {
+                    writer.write(csv(entry.getKey()) + "," + entry.getValue().type + "," + entry.getValue().count.get()
+                        + "," + sizes.getOrDefault(entry.getKey(), -1L));
+                    writer.newLine();
+                }
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(SIZES_FILE, StandardCharsets.UTF_8)) {
+                writer.write("url,bytes");
+                writer.newLine();
+                for (Map.Entry<String, Long> entry : new TreeMap<>(sizes).entrySet()) {
+                    writer.write(csv(entry.getKey()) + "," + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            long requests = scenarios.stream().mapToLong(scenario -> scenario.requests).sum();
+            long bytes = scenarios.stream().mapToLong(scenario -> scenario.bytes).sum();
+            LogUtils.info("Request blocking ({}): {} requests, ~{} KB over {} scenarios, reports in {}",
+                CONFIG.getBlocking(), requests, bytes / 1024, scenarios.size(), directory);
+        } catch (IOException e) {
+            LogUtils.error("Failed to write request blocking reports: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fail or continue a request paused by the Fetch domain. Only candidates for blocking are paused.
+     */
+    private static void paused(DevTools devTools, Traffic driverTraffic, Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        String url = request == null ? "" : String.valueOf(request.get("url"));
+        String type = String.valueOf(params.get("resourceType"));
+        try {
+            if (shouldBlock(url, type)) {
+                devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                driverTraffic.blocked(url, type);
+            } else {
+                devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            }
+        } catch (RuntimeException e) {
+            LogUtils.debug("Could not resolve paused request {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static boolean shouldBlock(String url, String type) {
+        if (matches(ALLOW, url)) {
+            return false;
+        }
+        return BLOCK_TYPES.contains(type) || matches(DENY, url);
+    }
+
+    private static List<Map<String, Object>> fetchPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : BLOCK_TYPES) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        for (String pattern : CONFIG.getDenyPatterns()) {
+            patterns.add(Map.of("urlPattern", pattern, "requestStage", "Request"));
+        }
+        return patterns;
+    }
+
+    private static boolean matches(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Translate DevTools URL patterns ({@code *} any characters, {@code ?} one character) to regexes
+     */
+    private static List<Pattern> globs(List<String> globs) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : globs) {
+            StringBuilder regex = new StringBuilder();
+            for (char c : glob.toCharArray()) {
+                if (c == '*') {
+                    regex.append(".*");
+                } else if (c == '?') {
+                    regex.append('.');
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            patterns.add(Pattern.compile(regex.toString()));
+        }
+        return patterns;
+    }
+
+    /**
+     * DevTools spells resource types capitalized (Image, Font, Stylesheet, XHR, ...)
+     */
+    private static List<String> resourceTypes(List<String> types) {
+        List<String> resourceTypes = new ArrayList<>();
+        for (String type : types) {
+            String lower = type.toLowerCase(Locale.ROOT);
+            resourceTypes.add(lower.equals("xhr") ? "XHR" : Character.toUpperCase(lower.charAt(0)) + lower.substring(1));
+        }
+        return resourceTypes;
+    }
+
+    /**
+     * Sizes are keyed by URL without the query string, so cache-busting parameters share an entry
+     */
+    private static String sizeKey(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, ResourceBlocker::readParams);
+    }
+
+    private static Map<String, Object> readParams(JsonInput input) {
+        Map<String, Object> params = input.read(Json.MAP_TYPE);
+        return params == null ? new HashMap<>() : params;
+    }
+
+    private static void loadSizes() {
+        if (!Files.isRegularFile(SIZES_FILE)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(SIZES_FILE, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.lastIndexOf(',');
+                if (comma > 0) {
+                    sizes.put(uncsv(line.substring(0, comma)), Long.parseLong(line.substring(comma + 1).trim()));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LogUtils.warn("Ignoring unreadable resource sizes {}: {}", SIZES_FILE, e.getMessage());
+        }
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String uncsv(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\"\"", "\"");
+        }
+        return value;
+    }
+
+    /**
+     * Requests of one browser, updated from the DevTools connection thread
+     */
+    private static class Traffic {
+        private final Map<String, Request> requests = new ConcurrentHashMap<>();
+        private final AtomicLong blockedRequests = new AtomicLong();
+        private final AtomicLong blockedBytes = new AtomicLong();
+        private final AtomicLong unknownSize = new AtomicLong();
+        private final AtomicLong loadedBytes = new AtomicLong();
+
+        private void reset() {
+            blockedRequests.set(0);
+            blockedBytes.set(0);
+            unknownSize.set(0);
+            loadedBytes.set(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void requestStarted(Map<String, Object> params) {
+            Map<String, Object> request = (Map<String, Object>) params.get("request");
+            String requestId = (String) params.get("requestId");
+            if (request != null && requestId != null) {
+                String url = String.valueOf(request.get("url"));
+                String type = String.valueOf(params.get("type"));
+                // In report mode the request loads normally and is counted as blocked once its size is known
+                boolean wouldBlock = CONFIG.getBlocking() == Config.BlockingMode.REPORT && shouldBlock(url, type);
+                requests.put(requestId, new Request(url, type, wouldBlock));
+            }
+        }
+
+        private void requestFinished(String requestId, long bytes) {
+            Request request = requestId == null ? null : requests.remove(requestId);
+            if (request == null) {
+                return;
+            }
+            // Cached responses report 0 bytes and would overwrite the real size
+            if (bytes > 0) {
+                sizes.put(sizeKey(request.url), bytes);
+            }
+            if (request.wouldBlock) {
+                blocked(request.url, request.type);
+            } else {
+                loadedBytes.addAndGet(bytes);
+            }
+        }
+
+        private void blocked(String url, String type) {
+            blockedRequests.incrementAndGet();
+            Long size = sizes.get(sizeKey(url));
+            if (size == null) {
+                unknownSize.incrementAndGet();
+            } else {
+                blockedBytes.addAndGet(size);
+            }
+            blocked.computeIfAbsent(sizeKey(url), key -> new BlockedResource(type)).count.incrementAndGet();
+        }
+    }
+
+    /**
+     * Request in flight
+     */
+    private static class Request {
+        private final String url;
+        private final String type;
+        private final boolean wouldBlock;
+
+        private Request(String url, String type, boolean wouldBlock) {
+            this.url = url;
+            this.type = type;
+            this.wouldBlock = wouldBlock;
+        }
+    }
+
+    /**
+     * Blocked URL and how often it was blocked
+     */
+    private static class BlockedResource {
+        private final String type;
+        private final AtomicLong count = new AtomicLong();
+
+        private BlockedResource(String type) {
+            this.type = type;
+        }
+    }
+
+    /**
+     * Totals of one scenario
+     */
+    private static class ScenarioTraffic {
+        private final String name;
+        private final long requests;
+        private final long bytes;
+        private final long unknownSize;
+        private final long loadedBytes;
+
+        private ScenarioTraffic(String name, long requests, long bytes, long unknownSize, long loadedBytes) {
+            this.name = name;
+            this.requests = requests;
+            this.bytes = bytes;
+            this.unknownSize = unknownSize;
+            this.loadedBytes = loadedBytes;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.parabank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one WebDriver command, emitted when driver.instrumentation=true
+ */
+@Name("com.parabank.DriverCommand")
+@Label("Driver Command")
+@Category({"ParaBank", "WebDriver"})
+@Description("WebDriver call recorded by WireCallRecorder")
+@StackTrace(false)
+public class DriverCommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Caller")
+    @Description("Page method and BaseClass helper that issued the command")
+    public String caller;
+
+    @Label("Step")
+    public String step;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,34 @@
+package com.parabank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning the launch of a browser by DriverFactory
+ */
+@Name("com.parabank.DriverCreation")
+@Label("Driver Creation")
+@Category({"ParaBank", "WebDriver"})
+@Description("Driver binary resolution, browser launch and session setup")
+public class DriverCreationEvent extends Event {
+    @Label("Browser")
+    public String browser;
+
+    @Label("Profile")
+    @Description("Launch options profile (STANDARD or LEAN)")
+    public String profile;
+
+    @Label("Page Events")
+    @Description("Whether DevTools page events are attached")
+    public boolean pageEvents;
+
+    @Label("Instrumented")
+    @Description("Whether WebDriver calls are recorded by WireCallRecorder")
+    public boolean instrumented;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
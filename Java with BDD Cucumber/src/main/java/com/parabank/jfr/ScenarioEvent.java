@@ -0,0 +1,30 @@
+package com.parabank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one Cucumber scenario, from TestCaseStarted to TestCaseFinished
+ */
+@Name("com.parabank.Scenario")
+@Label("Scenario")
+@Category({"ParaBank", "Cucumber"})
+@Description("Execution of one scenario including its hooks")
+@StackTrace(false)
+public class ScenarioEvent extends Event {
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Feature")
+    public String uri;
+
+    @Label("Line")
+    public int line;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,39 @@
+package com.parabank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a screenshot. The capture phase runs on the test thread,
+ * the store phase (decode, hash, write) on the screenshot writer thread.
+ */
+@Name("com.parabank.Screenshot")
+@Label("Screenshot")
+@Category({"ParaBank", "WebDriver"})
+@Description("Screenshot capture or storage")
+@StackTrace(false)
+public class ScreenshotEvent extends Event {
+    public static final String CAPTURE = "capture";
+    public static final String STORE = "store";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Step")
+    public String step;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Deduplicated")
+    public boolean deduplicated;
+}
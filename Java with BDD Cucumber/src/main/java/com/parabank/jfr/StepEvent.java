@@ -0,0 +1,30 @@
+package com.parabank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one step or hook, from TestStepStarted to TestStepFinished
+ */
+@Name("com.parabank.Step")
+@Label("Step")
+@Category({"ParaBank", "Cucumber"})
+@Description("Execution of one step definition or hook")
+@StackTrace(false)
+public class StepEvent extends Event {
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Step")
+    public String step;
+
+    @Label("Code Location")
+    public String codeLocation;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,40 @@
+package com.parabank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning one WaitEngine wait. The stack trace shows the page method that waited.
+ */
+@Name("com.parabank.Wait")
+@Label("Wait")
+@Category({"ParaBank", "WebDriver"})
+@Description("Wait for a locator or page condition")
+public class WaitEvent extends Event {
+    public static final String SUCCESS = "success";
+    public static final String TIMEOUT = "timeout";
+    public static final String BUDGET_EXHAUSTED = "budget exhausted";
+    public static final String ERROR = "error";
+
+    @Label("Locator")
+    public String locator;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeout;
+
+    @Label("Evaluations")
+    @Description("Number of times the condition was checked")
+    public int evaluations;
+
+    @Label("Event Driven")
+    @Description("Whether the wait was woken by page events instead of polling")
+    public boolean eventDriven;
+}
@@ -0,0 +1,110 @@
+package com.parabank.load;
+
+import io.restassured.response.Response;
+import com.parabank.api.ParaBankClient;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Customer of one virtual user in a load run. Each virtual user registers its own customer with two
+ * accounts, so scenarios that move money only ever touch that user's data, and tops the funding account up
+ * before every pass over the feature. Steps that log in as the feature's demo customer use
+ * {@link #current()} instead while a virtual user is attached to the thread.
+ */
+public final class VirtualUser {
+    private static final ThreadLocal<VirtualUser> current = new ThreadLocal<>();
+    // One pass over accounts.feature moves $600 out of the first account (a $500 transfer, a $100 deposit)
+    private static final BigDecimal FUNDS = new BigDecimal("1000.00");
+
+    private final String username;
+    private final String password;
+    private final ParaBankClient client = new ParaBankClient();
+    private long fundingAccountId;
+
+    private VirtualUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Register the customer of a virtual user and give it a second account
+     *
+     * @param runId Id unique to the load run, so usernames do not collide with earlier runs on the same server
+     * @param number Virtual user number, from 1
+     * @return Virtual user, not yet attached to a thread
+     * @throws IllegalStateException if the registration is rejected
+     */
+    public static VirtualUser register(String runId, int number) {
+        VirtualUser user = new VirtualUser("vu" + runId + "x" + number, "load" + number);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("customer.firstName", "Virtual");
+        fields.put("customer.lastName", "User" + number);
+        fields.put("customer.address.street", number + " Load Street");
+        fields.put("customer.address.city", "New York");
+        fields.put("customer.address.state", "NY");
+        fields.put("customer.address.zipCode", "10001");
+        fields.put("customer.phoneNumber", "2125551234");
+        fields.put("customer.ssn", String.format("%09d", number));
+        fields.put("customer.username", user.username);
+        fields.put("customer.password", user.password);
+        fields.put("customer.repeatPassword", user.password);
+        Response response = user.client.submitForm("register.htm", fields);
+        List<String> errors = ParaBankClient.errors(response);
+        if (response.getStatusCode() != 200 || !errors.isEmpty()) {
+            throw new IllegalStateException("Could not register " + user.username + ": HTTP "
+                + response.getStatusCode() + " " + errors);
+        }
+
+        long customerId = id(user.client.customer(user.username, user.password));
+        user.fundingAccountId = id(user.client.accounts(customerId).get(0));
+        user.topUp();
+        user.client.createAccount(customerId, "SAVINGS", user.fundingAccountId);
+        return user;
+    }
+
+    /**
+     * Get the virtual user running on the current thread
+     *
+     * @return Virtual user, empty outside of load runs
+     */
+    public static Optional<VirtualUser> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Run the following scenarios of the current thread as this user
+     */
+    public void attach() {
+        current.set(this);
+    }
+
+    public static void detach() {
+        current.remove();
+    }
+
+    /**
+     * Bring the funding account back to its starting balance; call before each pass over the feature
+     */
+    public void topUp() {
+        BigDecimal balance = new BigDecimal(client.account(fundingAccountId).get("balance").toString());
+        BigDecimal missing = FUNDS.subtract(balance);
+        if (missing.signum() > 0) {
+            client.deposit(fundingAccountId, missing);
+        }
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    private static long id(Map<String, Object> entity) {
+        return ((Number) entity.get("id")).longValue();
+    }
+}
@@ -77,17 +77,19 @@ public class DashboardPage extends BaseClass {
     }
 
     /**
-     * Click transfer button
+     * Click transfer button and wait for the transfer request to complete
      */
     public void clickTransferButton() {
         clickElement(transferButton);
+        waitForPageToSettle();
     }
 
     /**
-     * Click create account button
+     * Click create account button and wait for the account request to complete
      */
     public void clickCreateAccountButton() {
         clickElement(createAccountButton);
+        waitForPageToSettle();
     }
 
     /**
@@ -0,0 +1,21 @@
+package com.parabank.pages;
+
+/**
+ * Page that reports form errors, so steps shared by several features can check them on whichever page is open
+ */
+public interface ErrorMessagePage {
+
+    /**
+     * Check if an error message is displayed
+     *
+     * @return true if error is displayed
+     */
+    boolean isErrorMessageDisplayed();
+
+    /**
+     * Get error message
+     *
+     * @return Error message text; all messages of the page when it shows several
+     */
+    String getErrorMessage();
+}
@@ -1,19 +1,26 @@
 package com.parabank.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
+import com.parabank.api.AuthClient;
+import com.parabank.api.SessionCache;
 import com.parabank.base.BaseClass;
 
 /**
  * Login Page Object Model
  */
-public class LoginPage extends BaseClass {
+public class LoginPage extends BaseClass implements ErrorMessagePage {
     // Locators
     private By usernameField = By.name("customer.username");
     private By passwordField = By.name("customer.password");
     private By loginButton = By.xpath("//input[@value='Log In']");
     private By errorMessage = By.cssSelector("p.error");
     private By welcomeMessage = By.cssSelector("h2");
+    private By logoutLink = By.xpath("//a[contains(text(), 'Log Out')]");
+
+    // Cheap same-origin resource loaded only so the session cookie can be set for the app domain
+    private static final String SESSION_BOOTSTRAP_PATH = "robots.txt";
 
     public LoginPage(WebDriver driver) {
         this.setDriver(driver);
@@ -23,7 +30,7 @@ public class LoginPage extends BaseClass {
      * Navigate to login page
      */
     public void navigateToLoginPage() {
-        navigateToUrl("https://www.parabank.example.com/parabank/index.htm");
+        navigateToUrl(AuthClient.getBaseUrl() + "index.htm");
     }
 
     /**
@@ -56,17 +63,30 @@ public class LoginPage extends BaseClass {
      *
      * @return Error message text
      */
+    @Override
     public String getErrorMessage() {
         return getText(errorMessage);
     }
 
     /**
-     * Check if error message is displayed
+     * Check if error message is displayed.
+     * Resolves as soon as either the error or the logged-in page shows up.
      *
      * @return true if error is displayed
      */
+    @Override
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return waitForAnyElement(errorMessage, logoutLink) == 0;
+    }
+
+    /**
+     * Check that no login error is shown, without waiting for one to appear.
+     * Only meaningful once the next page has loaded.
+     *
+     * @return true if no error is displayed
+     */
+    public boolean isErrorMessageAbsent() {
+        return isElementAbsentNow(errorMessage);
     }
 
     /**
@@ -89,4 +109,31 @@ public class LoginPage extends BaseClass {
         enterPassword(password);
         clickLoginButton();
     }
+
+    /**
+     * Open the accounts overview with an authenticated session, skipping the login form entirely.
+     * A cached session of the user is reused when still valid, otherwise the login happens over HTTP.
+     *
+     * @param username Username
+     * @param password Password
+     */
+    public void loginViaApi(String username, String password) {
+        io.restassured.http.Cookie session = SessionCache.getSession(username, password);
+        openAuthenticatedSession(session.getValue(), session.getPath());
+    }
+
+    /**
+     * Inject an authenticated session cookie into the browser and open the accounts overview
+     *
+     * @param sessionId JSESSIONID value
+     * @param path Cookie path, or null for the site root
+     */
+    public void openAuthenticatedSession(String sessionId, String path) {
+        navigateToUrl(AuthClient.getBaseUrl() + SESSION_BOOTSTRAP_PATH);
+        driver.manage().addCookie(new Cookie.Builder(AuthClient.SESSION_COOKIE, sessionId)
+            .path(path == null ? "/" : path)
+            .isHttpOnly(true)
+            .build());
+        navigateToUrl(AuthClient.getBaseUrl() + "overview.htm");
+    }
 }
@@ -2,12 +2,17 @@ package com.parabank.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import com.parabank.api.AuthClient;
 import com.parabank.base.BaseClass;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Registration Page Object Model
  */
-public class RegistrationPage extends BaseClass {
+public class RegistrationPage extends BaseClass implements ErrorMessagePage {
     // Locators
     private By firstNameField = By.id("customer.firstName");
     private By lastNameField = By.id("customer.lastName");
@@ -23,6 +28,7 @@ public class RegistrationPage extends BaseClass {
     private By registerButton = By.xpath("//input[@value='Register']");
     private By successMessage = By.cssSelector("p");
     private By errorMessages = By.cssSelector("span.error");
+    private By logoutLink = By.xpath("//a[contains(text(), 'Log Out')]");
 
     public RegistrationPage(WebDriver driver) {
         this.setDriver(driver);
@@ -32,7 +38,7 @@ public class RegistrationPage extends BaseClass {
      * Navigate to registration page
      */
     public void navigateToRegistrationPage() {
-        navigateToUrl("https://www.parabank.example.com/parabank/register.htm");
+        navigateToUrl(AuthClient.getBaseUrl() + "register.htm");
     }
 
     /**
@@ -112,6 +118,47 @@ public class RegistrationPage extends BaseClass {
         typeText(confirmPasswordField, password);
     }
 
+    /**
+     * Fill several registration fields in one go
+     *
+     * @param values Field name (firstName, lastName, address, city, state, zipCode, phoneNumber, ssn,
+     *               username, password, confirmPassword) mapped to the value to enter
+     */
+    public void fillForm(Map<String, String> values) {
+        Map<By, String> fieldValues = new LinkedHashMap<>();
+        values.forEach((field, value) -> fieldValues.put(fieldLocator(field), value));
+        fillFields(fieldValues);
+    }
+
+    private By fieldLocator(String field) {
+        switch (field) {
+            case "firstName":
+                return firstNameField;
+            case "lastName":
+                return lastNameField;
+            case "address":
+                return addressField;
+            case "city":
+                return cityField;
+            case "state":
+                return stateField;
+            case "zipCode":
+                return zipCodeField;
+            case "phoneNumber":
+                return phoneField;
+            case "ssn":
+                return ssnField;
+            case "username":
+                return usernameField;
+            case "password":
+                return passwordField;
+            case "confirmPassword":
+                return confirmPasswordField;
+            default:
+                throw new IllegalArgumentException("Unknown registration field: " + field);
+        }
+    }
+
     /**
      * Click register button
      */
@@ -134,9 +181,32 @@ public class RegistrationPage extends BaseClass {
     }
 
     /**
-     * Check if error message is displayed
+     * Check if error message is displayed.
+     * Resolves as soon as either validation errors or the registered (logged-in) page shows up.
      */
+    @Override
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessages);
+        return waitForAnyElement(errorMessages, logoutLink) == 0;
+    }
+
+    /**
+     * Check that the page shows no validation errors, without waiting for any to appear.
+     * Only meaningful once the page has loaded, e.g. after the success message was found.
+     */
+    public boolean isErrorMessageAbsent() {
+        return isElementAbsentNow(errorMessages);
+    }
+
+    /**
+     * Get the validation errors of the form
+     *
+     * @return Texts of all error messages, separated by "; "
+     */
+    @Override
+    public String getErrorMessage() {
+        return driver.findElements(errorMessages).stream()
+            .map(WebElement::getText)
+            .filter(text -> !text.isBlank())
+            .collect(Collectors.joining("; "));
     }
 }
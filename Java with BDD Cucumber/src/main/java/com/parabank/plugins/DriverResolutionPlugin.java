@@ -0,0 +1,21 @@
+package com.parabank.plugins;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunStarted;
+import com.parabank.base.DriverBinaries;
+import com.parabank.config.ConfigReader;
+
+/**
+ * Cucumber plugin starting driver binary resolution when the run starts.
+ * TestRunStarted is published before the glue is scanned and the features are parsed, so version
+ * detection and any download overlap with that work instead of delaying the first scenario.
+ */
+public class DriverResolutionPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class,
+            event -> DriverBinaries.resolveInBackground(ConfigReader.get().getBrowser()));
+    }
+}
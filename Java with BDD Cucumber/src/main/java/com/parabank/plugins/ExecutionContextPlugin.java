@@ -0,0 +1,40 @@
+package com.parabank.plugins;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import com.parabank.utils.ExecutionContext;
+
+/**
+ * Cucumber plugin keeping {@link ExecutionContext} up to date.
+ * Concurrent listeners receive events on the thread executing the scenario, so the thread-local
+ * context always describes the scenario and step running on that thread. The step that failed the
+ * scenario is kept until the scenario finishes, so After hooks can attribute failure artifacts to it.
+ */
+public class ExecutionContextPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> ExecutionContext.setScenario(event.getTestCase().getName()));
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                // The pattern groups invocations of the same step definition regardless of arguments
+                ExecutionContext.setStep(((PickleStepTestStep) event.getTestStep()).getPattern());
+            }
+        });
+        publisher.registerHandlerFor(TestStepFinished.class, event -> {
+            if (event.getResult().getStatus() == Status.FAILED && event.getTestStep() instanceof PickleStepTestStep) {
+                Step step = ((PickleStepTestStep) event.getTestStep()).getStep();
+                ExecutionContext.setFailedStep(step.getKeyword().trim() + " " + step.getText());
+            }
+            ExecutionContext.clearStep();
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> ExecutionContext.clear());
+    }
+}
@@ -0,0 +1,82 @@
+package com.parabank.plugins;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import com.parabank.jfr.ScenarioEvent;
+import com.parabank.jfr.StepEvent;
+
+/**
+ * Cucumber plugin emitting Java Flight Recorder events for every scenario, step and hook.
+ * Events are begun on the started event and committed on the finished event; both arrive on the
+ * thread executing the scenario, so in-progress events are kept per thread.
+ * Without an active recording the events are disabled and cost next to nothing.
+ */
+public class FlightRecorderPlugin implements ConcurrentEventListener {
+    private final ThreadLocal<ScenarioEvent> scenarioEvent = new ThreadLocal<>();
+    private final ThreadLocal<StepEvent> stepEvent = new ThreadLocal<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+    }
+
+    private void onScenarioStarted(TestCaseStarted event) {
+        ScenarioEvent jfrEvent = new ScenarioEvent();
+        if (!jfrEvent.isEnabled()) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        jfrEvent.scenario = testCase.getName();
+        jfrEvent.uri = String.valueOf(testCase.getUri());
+        jfrEvent.line = testCase.getLocation().getLine();
+        jfrEvent.begin();
+        scenarioEvent.set(jfrEvent);
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        StepEvent jfrEvent = new StepEvent();
+        if (!jfrEvent.isEnabled()) {
+            return;
+        }
+        TestStep testStep = event.getTestStep();
+        jfrEvent.scenario = event.getTestCase().getName();
+        jfrEvent.codeLocation = testStep.getCodeLocation();
+        if (testStep instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) testStep;
+            jfrEvent.step = step.getStep().getKeyword() + step.getStep().getText();
+        } else if (testStep instanceof HookTestStep) {
+            jfrEvent.step = "@" + ((HookTestStep) testStep).getHookType();
+        }
+        jfrEvent.begin();
+        stepEvent.set(jfrEvent);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        StepEvent jfrEvent = stepEvent.get();
+        if (jfrEvent != null) {
+            stepEvent.remove();
+            jfrEvent.status = event.getResult().getStatus().name();
+            jfrEvent.commit();
+        }
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        ScenarioEvent jfrEvent = scenarioEvent.get();
+        if (jfrEvent != null) {
+            scenarioEvent.remove();
+            jfrEvent.status = event.getResult().getStatus().name();
+            jfrEvent.commit();
+        }
+    }
+}
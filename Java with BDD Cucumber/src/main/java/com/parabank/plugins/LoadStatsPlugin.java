@@ -0,0 +1,263 @@
+package com.parabank.plugins;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LatencyHistogram;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cucumber plugin for load runs: throughput and latency percentiles of every scenario and step, per time
+ * window ({@code load.window}) and for the whole run. Each closed window is logged as the run goes;
+ * windows.csv and summary.csv are written to the output directory at the end.
+ * <p>
+ * Usage: {@code com.parabank.plugins.LoadStatsPlugin:target/load}
+ * <p>
+ * Steps are keyed by their step definition pattern, so a step shared by several scenarios is one row.
+ * Recording is a map lookup and a lock-free histogram update, as in {@link StepTimingPlugin}.
+ */
+public class LoadStatsPlugin implements ConcurrentEventListener {
+    private static final String SCENARIO_PREFIX = "scenario: ";
+
+    private final Path outputDirectory;
+    private final long windowMillis;
+    private final NavigableMap<Long, Window> windows = new ConcurrentSkipListMap<>();
+    private final Map<String, Stats> totals = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong lastLoggedWindow = new AtomicLong(-1);
+    private volatile Instant start;
+    private volatile Instant end;
+
+    public LoadStatsPlugin() {
+        this("target/load");
+    }
+
+    public LoadStatsPlugin(String outputDirectory) {
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.windowMillis = Math.max(1, ConfigReader.get().load().getWindow().toMillis());
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> start = event.getInstant());
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> running.incrementAndGet());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (!(event.getTestStep() instanceof PickleStepTestStep)) {
+            return;
+        }
+        Status status = event.getResult().getStatus();
+        if (status != Status.PASSED && status != Status.FAILED) {
+            // Skipped, undefined or ambiguous steps never invoked the step definition
+            return;
+        }
+        String pattern = ((PickleStepTestStep) event.getTestStep()).getPattern();
+        if (pattern == null) {
+            return;
+        }
+        record(pattern, event.getInstant(), event.getResult().getDuration(), status == Status.FAILED);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        running.decrementAndGet();
+        Status status = event.getResult().getStatus();
+        String name = SCENARIO_PREFIX + event.getTestCase().getName();
+        record(name, event.getInstant(), event.getResult().getDuration(), status != Status.PASSED);
+    }
+
+    private void record(String key, Instant instant, Duration duration, boolean failed) {
+        long index = windowIndex(instant);
+        Window window = windows.get(index);
+        if (window == null) {
+            window = windows.computeIfAbsent(index, Window::new);
+            logClosedWindows(index);
+        }
+        window.stats(key).record(duration, failed);
+        totals.computeIfAbsent(key, Stats::new).record(duration, failed);
+    }
+
+    private long windowIndex(Instant instant) {
+        Instant runStart = start;
+        return runStart == null ? 0 : Math.max(0, Duration.between(runStart, instant).toMillis() / windowMillis);
+    }
+
+    /**
+     * Log every window before the one just opened; each is logged once, by whichever thread opens a later one
+     */
+    private void logClosedWindows(long openedIndex) {
+        long logged = lastLoggedWindow.get();
+        while (logged < openedIndex - 1) {
+            if (lastLoggedWindow.compareAndSet(logged, openedIndex - 1)) {
+                for (Window window : windows.subMap(logged, false, openedIndex, false).values()) {
+                    logWindow(window);
+                }
+                return;
+            }
+            logged = lastLoggedWindow.get();
+        }
+    }
+
+    private void logWindow(Window window) {
+        long scenarios = 0;
+        long failures = 0;
+        for (Stats stats : window.stats.values()) {
+            if (stats.key.startsWith(SCENARIO_PREFIX)) {
+                scenarios += stats.histogram.getCount();
+                failures += stats.errors.sum();
+            }
+        }
+        Stats slowest = window.stats.values().stream()
+            .filter(stats -> !stats.key.startsWith(SCENARIO_PREFIX))
+            .max((a, b) -> Long.compare(a.histogram.getPercentile(95), b.histogram.getPercentile(95)))
+            .orElse(null);
+        LogUtils.info("Load window +{}s: {} scenarios/s, {} failed, {} running{}",
+            window.index * windowMillis / 1000, perSecond(scenarios, windowMillis), failures, running.get(),
+            slowest == null ? "" : ", slowest step p95 " + millis(slowest.histogram.getPercentile(95)) + " ms ("
+                + slowest.key + ")");
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        end = event.getInstant();
+        long lastWindow = windows.isEmpty() ? -1 : windows.lastKey();
+        logClosedWindows(lastWindow + 1);
+        try {
+            Files.createDirectories(outputDirectory);
+            writeWindows(outputDirectory.resolve("windows.csv"));
+            writeSummary(outputDirectory.resolve("summary.csv"));
+            LogUtils.info("Load statistics written to {}", outputDirectory);
+        } catch (IOException e) {
+            LogUtils.error("Failed to write load statistics: {}", e.getMessage());
+        }
+    }
+
+    private void writeWindows(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("windowStartS,name,count,errors,perSecond,p50Ms,p90Ms,p95Ms,p99Ms,maxMs");
+            writer.newLine();
+            for (Window window : windows.values()) {
+                // The last window is usually cut short by the end of the run
+                long windowEnd = Math.min((window.index + 1) * windowMillis, runMillis());
+                long length = Math.max(1, windowEnd - window.index * windowMillis);
+                for (Stats stats : sorted(window.stats)) {
+                    writer.write((window.index * windowMillis / 1000.0) + "," + row(stats, length));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private void writeSummary(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,count,errors,perSecond,p50Ms,p90Ms,p95Ms,p99Ms,maxMs");
+            writer.newLine();
+            long length = Math.max(1, runMillis());
+            for (Stats stats : sorted(totals)) {
+                writer.write(row(stats, length));
+                writer.newLine();
+            }
+        }
+    }
+
+    private long runMillis() {
+        return start == null || end == null ? 0 : Duration.between(start, end).toMillis();
+    }
+
+    /**
+     * Scenarios first, then steps, each by name
+     */
+    private static List<Stats> sorted(Map<String, Stats> stats) {
+        List<Stats> sorted = new ArrayList<>(stats.values());
+        sorted.sort((a, b) -> {
+            boolean aScenario = a.key.startsWith(SCENARIO_PREFIX);
+            boolean bScenario = b.key.startsWith(SCENARIO_PREFIX);
+            return aScenario != bScenario ? (aScenario ? -1 : 1) : a.key.compareTo(b.key);
+        });
+        return sorted;
+    }
+
+    private static String row(Stats stats, long lengthMillis) {
+        LatencyHistogram histogram = stats.histogram;
+        return csv(stats.key) + "," + histogram.getCount() + "," + stats.errors.sum() + ","
+            + perSecond(histogram.getCount(), lengthMillis) + ","
+            + millis(histogram.getPercentile(50)) + "," + millis(histogram.getPercentile(90)) + ","
+            + millis(histogram.getPercentile(95)) + "," + millis(histogram.getPercentile(99)) + ","
+            + millis(histogram.getMax());
+    }
+
+    private static double perSecond(long count, long lengthMillis) {
+        return Math.round(count * 1000.0 / lengthMillis * 100) / 100.0;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Statistics of one time window
+     */
+    private static class Window {
+        private final long index;
+        private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+        private Window(long index) {
+            this.index = index;
+        }
+
+        private Stats stats(String key) {
+            Stats existing = stats.get(key);
+            return existing != null ? existing : stats.computeIfAbsent(key, Stats::new);
+        }
+    }
+
+    /**
+     * Durations and failures of one scenario or step
+     */
+    private static class Stats {
+        private final String key;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private Stats(String key) {
+            this.key = key;
+        }
+
+        private void record(Duration duration, boolean failed) {
+            histogram.record(duration.toNanos() / 1000);
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+}
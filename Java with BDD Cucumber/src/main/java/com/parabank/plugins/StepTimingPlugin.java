@@ -0,0 +1,171 @@
+package com.parabank.plugins;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.parabank.utils.ExecutionContext;
+import com.parabank.utils.LatencyHistogram;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin recording the duration of every step definition invocation into histograms per step
+ * pattern and page class. The page classes are the page objects the step drove, as recorded in
+ * {@link ExecutionContext} by their BaseClass helpers, so a generic step ("user clicks {string}") is split
+ * by the page it ran on. At the end of the run p50/p90/p99/max per row are written to step-timings.json and
+ * step-timings.csv in the output directory.
+ * <p>
+ * Usage: {@code com.parabank.plugins.StepTimingPlugin:target/step-timings}
+ * <p>
+ * The hot path is two map lookups and a lock-free histogram update, so the plugin is safe to keep
+ * enabled in parallel runs.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Path outputDirectory;
+    // Step pattern -> page classes -> timings
+    private final Map<String, Map<String, StepTimings>> timings = new ConcurrentHashMap<>();
+
+    public StepTimingPlugin() {
+        this("target/step-timings");
+    }
+
+    public StepTimingPlugin(String outputDirectory) {
+        this.outputDirectory = Paths.get(outputDirectory);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                ExecutionContext.clearPages();
+            }
+        });
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (!(event.getTestStep() instanceof PickleStepTestStep)) {
+            return;
+        }
+        Status status = event.getResult().getStatus();
+        if (status != Status.PASSED && status != Status.FAILED) {
+            // Skipped, undefined or ambiguous steps never invoked the step definition
+            return;
+        }
+        PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+        String location = step.getCodeLocation();
+        if (location == null) {
+            // Undefined step, nothing was invoked
+            return;
+        }
+        String pattern = step.getPattern();
+        Map<String, StepTimings> byPage = timings.get(pattern);
+        if (byPage == null) {
+            byPage = timings.computeIfAbsent(pattern, key -> new ConcurrentHashMap<>());
+        }
+        String pages = ExecutionContext.getPages();
+        StepTimings stepTimings = byPage.get(pages);
+        if (stepTimings == null) {
+            stepTimings = byPage.computeIfAbsent(pages, key -> new StepTimings(pattern, key, location));
+        }
+        stepTimings.histogram.record(event.getResult().getDuration().toNanos() / 1000);
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        List<StepTimings> steps = new ArrayList<>();
+        timings.values().forEach(byPage -> steps.addAll(byPage.values()));
+        steps.sort(Comparator.comparingLong((StepTimings step) -> step.histogram.getPercentile(99)).reversed());
+        try {
+            Files.createDirectories(outputDirectory);
+            writeCsv(steps, outputDirectory.resolve("step-timings.csv"));
+            writeJson(steps, outputDirectory.resolve("step-timings.json"));
+            LogUtils.info("Step timings written to {}", outputDirectory);
+        } catch (IOException e) {
+            LogUtils.error("Failed to write step timings: {}", e.getMessage());
+        }
+    }
+
+    private void writeCsv(List<StepTimings> steps, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("stepClass,method,pattern,page,count,meanMs,p50Ms,p90Ms,p99Ms,maxMs");
+            writer.newLine();
+            for (StepTimings step : steps) {
+                LatencyHistogram histogram = step.histogram;
+                writer.write(csv(step.stepClass) + "," + csv(step.method) + "," + csv(step.pattern) + "," + csv(step.page) + ","
+                    + histogram.getCount() + "," + millis(histogram.getMean()) + ","
+                    + millis(histogram.getPercentile(50)) + "," + millis(histogram.getPercentile(90)) + ","
+                    + millis(histogram.getPercentile(99)) + "," + millis(histogram.getMax()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private void writeJson(List<StepTimings> steps, Path file) throws IOException {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (StepTimings step : steps) {
+            LatencyHistogram histogram = step.histogram;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("stepClass", step.stepClass);
+            entry.put("method", step.method);
+            entry.put("pattern", step.pattern);
+            entry.put("page", step.page);
+            entry.put("count", histogram.getCount());
+            entry.put("meanMs", millis(histogram.getMean()));
+            entry.put("p50Ms", millis(histogram.getPercentile(50)));
+            entry.put("p90Ms", millis(histogram.getPercentile(90)));
+            entry.put("p99Ms", millis(histogram.getPercentile(99)));
+            entry.put("maxMs", millis(histogram.getMax()));
+            entries.add(entry);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), entries);
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / MICROS_PER_MILLI * 1000) / 1000.0;
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Histogram of one step definition on one page
+     */
+    private static class StepTimings {
+        private final String pattern;
+        private final String page;
+        private final String stepClass;
+        private final String method;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private StepTimings(String pattern, String page, String codeLocation) {
+            this.pattern = pattern;
+            this.page = page;
+            // Code location looks like com.parabank.stepdefinitions.LoginSteps.userClicksLoginButton()
+            String signature = codeLocation.contains("(") ? codeLocation.substring(0, codeLocation.indexOf('(')) : codeLocation;
+            int lastDot = signature.lastIndexOf('.');
+            this.stepClass = lastDot < 0 ? signature : signature.substring(0, lastDot);
+            this.method = lastDot < 0 ? signature : signature.substring(lastDot + 1);
+        }
+    }
+}
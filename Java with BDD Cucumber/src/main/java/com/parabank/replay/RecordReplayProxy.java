@@ -0,0 +1,395 @@
+package com.parabank.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import com.parabank.base.LiteDriver;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.devtools.DevToolsSessions;
+import com.parabank.utils.LogUtils;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local reverse proxy in front of ParaBank that records its responses or replays them.
+ * <p>
+ * With replay.mode=record or replay, baseUrl points at {@code http://localhost:<replay.port>} (same path), so
+ * browsers and the API client reach ParaBank through the proxy. In record mode every response is fetched
+ * upstream, rewritten to the proxy's origin and appended to the archive in replay.archive. In replay mode it
+ * is served from the memory-mapped archive and nothing goes upstream; Chromium browsers also stop resolving
+ * other hosts (see DriverFactory).
+ * <p>
+ * Requests are matched by scenario, method, URL and their occurrence within the scenario, falling back to
+ * method, URL and body when the scenario's own recording has no match (a renamed scenario, a session
+ * shared across scenarios). Chromium, the lite browser and the API client name their scenario in a request header.
+ * Unmatched requests are misses: the proxy answers 404 and reports them per scenario.
+ * Comparing the scenario durations of a record and a replay run separates server time from framework and
+ * browser time; scenarios.csv in replay.reportDir also lists the upstream time spent per scenario.
+ */
+public class RecordReplayProxy {
+    public static final String SCENARIO_HEADER = "X-Parabank-Scenario";
+    private static final String UNATTRIBUTED = "(no scenario)";
+    private static final int MAX_LOGGED_MISSES = 5;
+    private static final Set<String> REQUEST_HEADERS_SKIPPED = Set.of("host", "connection", "content-length",
+        "expect", "upgrade", "keep-alive", "accept-encoding", "proxy-connection", SCENARIO_HEADER.toLowerCase(Locale.ROOT));
+    private static final Set<String> RESPONSE_HEADERS_KEPT = Set.of("content-type", "location", "set-cookie",
+        "cache-control", "expires", "last-modified", "content-disposition");
+
+    private static final Config.Replay CONFIG = ConfigReader.get().replay();
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+    private static final Map<String, ScenarioStats> scenarios = new ConcurrentHashMap<>();
+    private static final Queue<String[]> misses = new ConcurrentLinkedQueue<>();
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static HttpClient upstream;
+    private static ReplayArchive.Writer writer;
+    private static ReplayArchive.Reader reader;
+    private static String upstreamOrigin;
+    private static String proxyOrigin;
+
+    /**
+     * Check whether traffic goes through the proxy
+     *
+     * @return true unless replay.mode=off
+     */
+    public static boolean isEnabled() {
+        return CONFIG.getMode() != Config.ReplayMode.OFF;
+    }
+
+    /**
+     * Start the proxy in the configured mode, unless it is off or already running
+     *
+     * @throws IllegalStateException if the port is taken or the archive to replay cannot be opened
+     */
+    public static synchronized void start() {
+        if (!isEnabled() || server != null) {
+            return;
+        }
+        URI upstreamUrl = URI.create(CONFIG.getUpstreamUrl());
+        upstreamOrigin = upstreamUrl.getScheme() + "://" + upstreamUrl.getRawAuthority();
+        proxyOrigin = "http://localhost:" + CONFIG.getPort();
+        Path archive = CONFIG.getArchive();
+        try {
+            if (CONFIG.getMode() == Config.ReplayMode.RECORD) {
+                writer = new ReplayArchive.Writer(archive);
+                upstream = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            } else {
+                reader = new ReplayArchive.Reader(archive);
+            }
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), CONFIG.getPort()), 128);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the " + CONFIG.getMode().name().toLowerCase(Locale.ROOT)
+                + " proxy on port " + CONFIG.getPort() + " with archive " + archive
+                + (CONFIG.getMode() == Config.ReplayMode.REPLAY ? " (record it first with -Dreplay.mode=record)" : ""), e);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "replay-proxy-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", RecordReplayProxy::handle);
+        server.start();
+        LogUtils.info("Replay proxy ({}) on {} for {}{}", CONFIG.getMode(), proxyOrigin, upstreamOrigin,
+            reader != null ? ", " + reader.size() + " recorded keys" : "");
+    }
+
+    /**
+     * Stop the proxy, finish the archive (record mode) and write the reports
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        try {
+            if (writer != null) {
+                writer.close();
+                LogUtils.info("Recorded {} keys to {}", writer.size(), ReplayArchive.dataFile(CONFIG.getArchive()));
+            }
+            if (reader != null) {
+                reader.close();
+            }
+        } catch (IOException e) {
+            LogUtils.error("Failed to close replay archive {}: {}", CONFIG.getArchive(), e.getMessage());
+        }
+        writeReports();
+    }
+
+    /**
+     * Attribute the current thread's requests and, in Chromium and the lite browser, the browser's requests
+     * to a scenario
+     *
+     * @param driver WebDriver leased by the scenario
+     * @param scenarioId Scenario id, unique within the run
+     */
+    public static void startScenario(WebDriver driver, String scenarioId) {
+        if (!isEnabled()) {
+            return;
+        }
+        currentScenario.set(scenarioId);
+        scenarios.put(scenarioId, new ScenarioStats(scenarioId));
+        // With driver.instrumentation the driver is an EventFiringDecorator proxy around the LiteDriver
+        WebDriver browser = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        if (browser instanceof LiteDriver) {
+            ((LiteDriver) browser).setRequestHeader(SCENARIO_HEADER, scenarioId);
+            return;
+        }
+        Optional<DevTools> devTools = driver == null ? Optional.empty() : DevToolsSessions.open(driver);
+        if (devTools.isPresent()) {
+            try {
+                devTools.get().send(new Command<>("Network.enable", Map.of()));
+                devTools.get().send(new Command<>("Network.setExtraHTTPHeaders",
+                    Map.of("headers", Map.of(SCENARIO_HEADER, scenarioId))));
+            } catch (RuntimeException e) {
+                LogUtils.debug("Scenario header not set, browser requests match by URL only: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Log the scenario's replay misses and detach it from the current thread
+     */
+    public static void endScenario() {
+        String scenarioId = currentScenario.get();
+        currentScenario.remove();
+        ScenarioStats stats = scenarioId == null ? null : scenarios.get(scenarioId);
+        if (stats == null) {
+            return;
+        }
+        if (stats.misses.get() > 0) {
+            LogUtils.warn("Replay misses: {} of {} requests, e.g. {}", stats.misses.get(), stats.requests.get(),
+                stats.missed);
+        } else {
+            LogUtils.info("Proxy: {} requests, {} matched by URL only, {}ms upstream", stats.requests.get(),
+                stats.fallbackHits.get(), stats.upstreamMillis.get());
+        }
+    }
+
+    /**
+     * Header naming the current thread's scenario, for HTTP clients that go through the proxy
+     *
+     * @return Header map, empty when the proxy is off or no scenario is running on this thread
+     */
+    public static Map<String, String> scenarioHeaders() {
+        String scenarioId = currentScenario.get();
+        return scenarioId == null ? Map.of() : Map.of(SCENARIO_HEADER, scenarioId);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+            URI uri = exchange.getRequestURI();
+            String target = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            String scenarioId = exchange.getRequestHeaders().getFirst(SCENARIO_HEADER);
+            ScenarioStats stats = scenarios.computeIfAbsent(scenarioId == null ? UNATTRIBUTED : scenarioId, ScenarioStats::new);
+            stats.requests.incrementAndGet();
+
+            long fallbackKey = ReplayArchive.key(method, target, new String(body, StandardCharsets.UTF_8));
+            Long scenarioKey = null;
+            if (scenarioId != null) {
+                int occurrence = stats.occurrences.computeIfAbsent(method + " " + target, k -> new AtomicInteger()).incrementAndGet();
+                scenarioKey = ReplayArchive.key(scenarioId, method, target, Integer.toString(occurrence));
+            }
+
+            if (writer != null) {
+                ReplayArchive.Entry entry = fetch(exchange, method, target, body);
+                stats.upstreamMillis.addAndGet(entry.upstreamMillis);
+                List<Long> keys = scenarioKey == null ? List.of(fallbackKey) : List.of(scenarioKey, fallbackKey);
+                writer.append(keys, entry);
+                respond(exchange, entry);
+                return;
+            }
+
+            Optional<ReplayArchive.Entry> entry = scenarioKey == null ? Optional.empty() : reader.find(scenarioKey);
+            if (entry.isEmpty()) {
+                entry = reader.find(fallbackKey);
+                if (entry.isPresent()) {
+                    stats.fallbackHits.incrementAndGet();
+                }
+            }
+            if (entry.isPresent()) {
+                respond(exchange, entry.get());
+            } else {
+                stats.miss(method + " " + target);
+                misses.add(new String[]{stats.scenarioId, method, target});
+                byte[] message = ("Not recorded: " + method + " " + target).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(404, message.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(message);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LogUtils.error("Replay proxy failed on {}: {}", exchange.getRequestURI(), e.toString());
+            exchange.sendResponseHeaders(502, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Forward a request upstream and turn the response into a record that refers to the proxy, not upstream
+     */
+    private static ReplayArchive.Entry fetch(HttpExchange exchange, String method, String target, byte[] body)
+            throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstreamOrigin + target))
+            .timeout(Duration.ofSeconds(60))
+            .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!REQUEST_HEADERS_SKIPPED.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = upstream.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + target, e);
+        }
+        int upstreamMillis = (int) ((System.nanoTime() - start) / 1_000_000);
+
+        List<String[]> headers = new ArrayList<>();
+        boolean text = false;
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!RESPONSE_HEADERS_KEPT.contains(name)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                if (name.equals("content-type")) {
+                    text = value.startsWith("text/") || value.contains("json") || value.contains("javascript")
+                        || value.contains("xml");
+                } else if (name.equals("location")) {
+                    value = value.replace(upstreamOrigin, proxyOrigin);
+                } else if (name.equals("set-cookie")) {
+                    // The browser talks plain HTTP to localhost: drop attributes that would make it discard the cookie
+                    value = value.replaceAll("(?i);\\s*(secure|domain=[^;]*|samesite=none)", "");
+                }
+                headers.add(new String[]{header.getKey(), value});
+            }
+        }
+        byte[] responseBody = response.body();
+        if (text) {
+            responseBody = new String(responseBody, StandardCharsets.UTF_8).replace(upstreamOrigin, proxyOrigin)
+                .getBytes(StandardCharsets.UTF_8);
+        }
+        return new ReplayArchive.Entry(response.statusCode(), upstreamMillis, headers, responseBody);
+    }
+
+    private static void respond(HttpExchange exchange, ReplayArchive.Entry entry) throws IOException {
+        for (String[] header : entry.headers) {
+            exchange.getResponseHeaders().add(header[0], header[1]);
+        }
+        boolean noBody = entry.status == 204 || entry.status == 304 || exchange.getRequestMethod().equalsIgnoreCase("HEAD");
+        exchange.sendResponseHeaders(entry.status, noBody || entry.body.length == 0 ? -1 : entry.body.length);
+        if (!noBody && entry.body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(entry.body);
+            }
+        }
+    }
+
+    private static void writeReports() {
+        Path directory = CONFIG.getReportDir();
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter out = Files.newBufferedWriter(directory.resolve("scenarios.csv"), StandardCharsets.UTF_8)) {
+                out.write("scenario,mode,requests,matchedByUrlOnly,misses,upstreamMs");
+                out.newLine();
+                for (ScenarioStats stats : scenarios.values()) {
+                    out.write(csv(stats.scenarioId) + "," + CONFIG.getMode().name().toLowerCase(Locale.ROOT) + ","
+                        + stats.requests.get() + "," + stats.fallbackHits.get() + "," + stats.misses.get() + ","
+                        + stats.upstreamMillis.get());
+                    out.newLine();
+                }
+            }
+            if (CONFIG.getMode() == Config.ReplayMode.REPLAY) {
+                try (BufferedWriter out = Files.newBufferedWriter(directory.resolve("misses.csv"), StandardCharsets.UTF_8)) {
+                    out.write("scenario,method,url");
+                    out.newLine();
+                    for (String[] miss : misses) {
+                        out.write(csv(miss[0]) + "," + miss[1] + "," + csv(miss[2]));
+                        out.newLine();
+                    }
+                }
+            }
+            long requests = scenarios.values().stream().mapToLong(stats -> stats.requests.get()).sum();
+            LogUtils.info("Replay proxy ({}): {} requests, {} misses, reports in {}", CONFIG.getMode(), requests,
+                misses.size(), directory);
+        } catch (IOException e) {
+            LogUtils.error("Failed to write replay reports: {}", e.getMessage());
+        }
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Per-scenario counters; occurrences number repeated requests so each replays its own recording
+     */
+    private static final class ScenarioStats {
+        private final String scenarioId;
+        private final Map<String, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong fallbackHits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong upstreamMillis = new AtomicLong();
+        private final List<String> missed = Collections.synchronizedList(new ArrayList<>());
+
+        private ScenarioStats(String scenarioId) {
+            this.scenarioId = scenarioId;
+        }
+
+        private void miss(String request) {
+            misses.incrementAndGet();
+            if (missed.size() < MAX_LOGGED_MISSES) {
+                missed.add(request);
+            }
+        }
+    }
+}
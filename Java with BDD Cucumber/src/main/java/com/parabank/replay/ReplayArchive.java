@@ -0,0 +1,260 @@
+package com.parabank.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk archive of recorded responses: {@code <archive>.dat} holds the responses back to back,
+ * {@code <archive>.idx} a sorted table of (64-bit request key, offset, length).
+ * <p>
+ * Records are {@code status, upstream ms, flags, headers (UTF name/value pairs), body}; bodies of 512 bytes
+ * or more are gzipped. Several keys may point at the same record. Both files are memory-mapped for replay,
+ * so a lookup is a binary search over the mapped index and one copy of the record, without file I/O calls.
+ */
+final class ReplayArchive {
+    private static final int MAGIC = 0x50425241;
+    private static final int VERSION = 1;
+    private static final int INDEX_HEADER = 12;
+    private static final int INDEX_ENTRY = 20;
+    private static final int GZIP_FROM = 512;
+    private static final byte FLAG_GZIP = 1;
+
+    private ReplayArchive() {
+    }
+
+    static Path dataFile(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + ".dat");
+    }
+
+    static Path indexFile(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + ".idx");
+    }
+
+    /**
+     * Hash request key parts (FNV-1a, 64 bit); parts are separated so ("ab", "c") differs from ("a", "bc")
+     */
+    static long key(String... parts) {
+        long hash = 0xcbf29ce484222325L;
+        for (String part : parts) {
+            for (byte b : part.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0x1f;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Recorded response
+     */
+    static final class Entry {
+        final int status;
+        final int upstreamMillis;
+        final List<String[]> headers;
+        final byte[] body;
+
+        Entry(int status, int upstreamMillis, List<String[]> headers, byte[] body) {
+            this.status = status;
+            this.upstreamMillis = upstreamMillis;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Appends records during a recording; the index is written on {@link #close()}
+     */
+    static final class Writer implements Closeable {
+        private final Path archive;
+        private final FileChannel data;
+        private final Map<Long, long[]> index = new HashMap<>();
+        private long position;
+
+        Writer(Path archive) throws IOException {
+            this.archive = archive;
+            if (archive.getParent() != null) {
+                Files.createDirectories(archive.getParent());
+            }
+            data = FileChannel.open(dataFile(archive), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip();
+            position = data.write(header);
+        }
+
+        /**
+         * Store a response under keys that have no record yet; an already recorded key keeps its first response
+         *
+         * @return Whether any key was new
+         */
+        synchronized boolean append(List<Long> keys, Entry entry) throws IOException {
+            if (keys.stream().allMatch(index::containsKey)) {
+                return false;
+            }
+            ByteBuffer record = ByteBuffer.wrap(encode(entry));
+            long offset = position;
+            while (record.hasRemaining()) {
+                position += data.write(record);
+            }
+            for (Long key : keys) {
+                index.putIfAbsent(key, new long[]{offset, position - offset});
+            }
+            return true;
+        }
+
+        synchronized int size() {
+            return index.size();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            data.force(false);
+            data.close();
+            TreeMap<Long, long[]> sorted = new TreeMap<>(index);
+            ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER + sorted.size() * INDEX_ENTRY)
+                .putInt(MAGIC).putInt(VERSION).putInt(sorted.size());
+            sorted.forEach((key, location) -> buffer.putLong(key).putLong(location[0]).putInt((int) location[1]));
+            // Written aside and moved, so a crashed run never leaves a truncated index next to the data
+            Path temporary = indexFile(archive).resolveSibling(indexFile(archive).getFileName() + ".tmp");
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, indexFile(archive), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private static byte[] encode(Entry entry) throws IOException {
+            byte[] body = entry.body;
+            byte flags = 0;
+            if (body.length >= GZIP_FROM) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(body);
+                }
+                if (compressed.size() < body.length) {
+                    body = compressed.toByteArray();
+                    flags |= FLAG_GZIP;
+                }
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 256);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeShort(entry.status);
+                out.writeInt(entry.upstreamMillis);
+                out.writeByte(flags);
+                out.writeShort(entry.headers.size());
+                for (String[] header : entry.headers) {
+                    out.writeUTF(header[0]);
+                    out.writeUTF(header[1]);
+                }
+                out.writeInt(body.length);
+                out.write(body);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Read-only view of a finished archive over memory-mapped files; safe for concurrent lookups
+     */
+    static final class Reader implements Closeable {
+        private final FileChannel dataChannel;
+        private final MappedByteBuffer index;
+        private final MappedByteBuffer data;
+        private final int count;
+
+        Reader(Path archive) throws IOException {
+            try (FileChannel indexChannel = FileChannel.open(indexFile(archive), StandardOpenOption.READ)) {
+                index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            }
+            dataChannel = FileChannel.open(dataFile(archive), StandardOpenOption.READ);
+            if (dataChannel.size() > Integer.MAX_VALUE) {
+                dataChannel.close();
+                throw new IOException("Archive data over 2 GB: " + dataFile(archive));
+            }
+            data = dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataChannel.size());
+            if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION || data.getInt(0) != MAGIC) {
+                dataChannel.close();
+                throw new IOException("Not a version " + VERSION + " replay archive: " + archive);
+            }
+            count = index.getInt(8);
+        }
+
+        int size() {
+            return count;
+        }
+
+        /**
+         * Look a request key up
+         *
+         * @return Recorded response, or empty if the key was never recorded
+         */
+        Optional<Entry> find(long key) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int at = INDEX_HEADER + middle * INDEX_ENTRY;
+                int comparison = Long.compare(index.getLong(at), key);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return Optional.of(read((int) index.getLong(at + 8), index.getInt(at + 16)));
+                }
+            }
+            return Optional.empty();
+        }
+
+        private Entry read(int offset, int length) {
+            byte[] record = new byte[length];
+            // Absolute reads through a duplicate: the shared buffer's position is never touched
+            data.duplicate().position(offset).get(record);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+                int status = in.readUnsignedShort();
+                int upstreamMillis = in.readInt();
+                byte flags = in.readByte();
+                int headerCount = in.readUnsignedShort();
+                List<String[]> headers = new ArrayList<>(headerCount);
+                for (int i = 0; i < headerCount; i++) {
+                    headers.add(new String[]{in.readUTF(), in.readUTF()});
+                }
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                if ((flags & FLAG_GZIP) != 0) {
+                    try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                        body = gzip.readAllBytes();
+                    }
+                }
+                return new Entry(status, upstreamMillis, headers, body);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Corrupt replay record at offset " + offset, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            dataChannel.close();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.parabank.standin;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory customers, accounts and transactions of the stand-in.
+ * Starts with the demo customer john/demo (id 12212) owning accounts 13344 (checking) and 13345 (savings), the data
+ * the features use. Each customer is its own lock, so parallel scenarios of different users never contend.
+ */
+public class Bank {
+    public static final String CHECKING = "CHECKING";
+    public static final String SAVINGS = "SAVINGS";
+
+    private final Map<String, Customer> customers = new ConcurrentHashMap<>();
+    private final Map<Long, Customer> customersById = new ConcurrentHashMap<>();
+    private final Map<Long, Customer> accountOwners = new ConcurrentHashMap<>();
+    private final AtomicLong nextAccountId = new AtomicLong(13566);
+    private final AtomicLong nextCustomerId = new AtomicLong(12323);
+
+    public Bank() {
+        Customer john = new Customer(12212, "john", "demo", "John", "Smith");
+        customers.put(john.username, john);
+        customersById.put(john.id, john);
+        addAccount(john, 13344, CHECKING, new BigDecimal("1515.50"));
+        addAccount(john, 13345, SAVINGS, new BigDecimal("1000.00"));
+    }
+
+    /**
+     * Check credentials
+     *
+     * @return Customer, or empty if the username is unknown or the password does not match
+     */
+    public Optional<Customer> authenticate(String username, String password) {
+        Customer customer = customers.get(username);
+        return customer != null && customer.password.equals(password) ? Optional.of(customer) : Optional.empty();
+    }
+
+    public Optional<Customer> customer(String username) {
+        return Optional.ofNullable(username == null ? null : customers.get(username));
+    }
+
+    public Optional<Customer> customer(long id) {
+        return Optional.ofNullable(customersById.get(id));
+    }
+
+    /**
+     * Register a customer with one checking account
+     *
+     * @return New customer, or empty if the username is taken
+     */
+    public Optional<Customer> register(String username, String password, String firstName, String lastName) {
+        Customer customer = new Customer(nextCustomerId.getAndAdd(111), username, password, firstName, lastName);
+        if (customers.putIfAbsent(username, customer) != null) {
+            return Optional.empty();
+        }
+        customersById.put(customer.id, customer);
+        addAccount(customer, nextAccountId.getAndAdd(111), CHECKING, new BigDecimal("100.00"));
+        return Optional.of(customer);
+    }
+
+    /**
+     * Open an account funded with a minimum deposit from an existing account of the same customer
+     *
+     * @return New account
+     * @throws IllegalArgumentException if the funding account is not the customer's or lacks the deposit
+     */
+    public Account openAccount(Customer customer, String type, long fromAccountId) {
+        BigDecimal deposit = new BigDecimal("100.00");
+        synchronized (customer) {
+            Account from = customer.account(fromAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account " + fromAccountId + " is not yours"));
+            if (from.balance.compareTo(deposit) < 0) {
+                throw new IllegalArgumentException("Insufficient funds in account " + fromAccountId);
+            }
+            Account account = addAccount(customer, nextAccountId.getAndAdd(111), type, BigDecimal.ZERO);
+            from.post("Funds Transfer Sent", deposit.negate());
+            account.post("Funds Transfer Received", deposit);
+            return account;
+        }
+    }
+
+    /**
+     * Move money between two accounts of the same customer
+     *
+     * @throws IllegalArgumentException if an account is not the customer's or the amount is not positive
+     */
+    public void transfer(Customer customer, long fromAccountId, long toAccountId, BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("The amount must be greater than zero");
+        }
+        synchronized (customer) {
+            Account from = customer.account(fromAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account " + fromAccountId + " is not yours"));
+            Account to = customer.account(toAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account " + toAccountId + " is not yours"));
+            // Like ParaBank, overdrawing is allowed
+            from.post("Funds Transfer Sent", amount.negate());
+            to.post("Funds Transfer Received", amount);
+        }
+    }
+
+    /**
+     * Deposit money into an account
+     *
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    public void deposit(Customer customer, long accountId, BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("The amount must be greater than zero");
+        }
+        synchronized (customer) {
+            Account account = customer.account(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account " + accountId + " is not yours"));
+            account.post("Deposit", amount);
+        }
+    }
+
+    /**
+     * Find an account with its owner
+     */
+    public Optional<Customer> ownerOf(long accountId) {
+        return Optional.ofNullable(accountOwners.get(accountId));
+    }
+
+    private Account addAccount(Customer customer, long id, String type, BigDecimal balance) {
+        Account account = new Account(id, type, balance);
+        synchronized (customer) {
+            customer.accounts.add(account);
+        }
+        accountOwners.put(id, customer);
+        return account;
+    }
+
+    /**
+     * Registered customer
+     */
+    public static class Customer {
+        private final long id;
+        private final String username;
+        private final String password;
+        private final String firstName;
+        private final String lastName;
+        private final List<Account> accounts = new ArrayList<>();
+
+        private Customer(long id, String username, String password, String firstName, String lastName) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getFullName() {
+            return firstName + " " + lastName;
+        }
+
+        /**
+         * @return Snapshot of the customer's accounts
+         */
+        public synchronized List<Account> getAccounts() {
+            return Collections.unmodifiableList(new ArrayList<>(accounts));
+        }
+
+        public synchronized Optional<Account> account(long id) {
+            return accounts.stream().filter(account -> account.id == id).findFirst();
+        }
+    }
+
+    /**
+     * Account; guarded by its customer's lock
+     */
+    public static class Account {
+        private final long id;
+        private final String type;
+        private final List<Transaction> transactions = new ArrayList<>();
+        private BigDecimal balance;
+
+        private Account(long id, String type, BigDecimal balance) {
+            this.id = id;
+            this.type = type;
+            this.balance = balance;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public synchronized BigDecimal getBalance() {
+            return balance;
+        }
+
+        public synchronized List<Transaction> getTransactions() {
+            return Collections.unmodifiableList(new ArrayList<>(transactions));
+        }
+
+        private synchronized void post(String description, BigDecimal amount) {
+            balance = balance.add(amount);
+            transactions.add(new Transaction(LocalDate.now(), description, amount));
+        }
+    }
+
+    /**
+     * Posted transaction
+     */
+    public static class Transaction {
+        private final LocalDate date;
+        private final String description;
+        private final BigDecimal amount;
+
+        private Transaction(LocalDate date, String description, BigDecimal amount) {
+            this.date = date;
+            this.description = description;
+            this.amount = amount;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.parabank.standin;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTML of the stand-in pages. Element ids, names, button values and link texts are the ones the page
+ * objects locate, and the layout keeps ParaBank's leftPanel / rightPanel structure. No page needs
+ * JavaScript, so every browser (including the in-process one) can drive it.
+ */
+final class StandInPages {
+    private static final String[][] REGISTRATION_FIELDS = {
+        {"customer.firstName", "First Name", "First name is required."},
+        {"customer.lastName", "Last Name", "Last name is required."},
+        {"customer.address.street", "Address", "Address is required."},
+        {"customer.address.city", "City", "City is required."},
+        {"customer.address.state", "State", "State is required."},
+        {"customer.address.zipCode", "Zip Code", "Zip Code is required."},
+        {"customer.phoneNumber", "Phone #", null},
+        {"customer.ssn", "SSN", "Social Security Number is required."},
+        {"customer.username", "Username", "Username is required."},
+        {"customer.password", "Password", "Password is required."},
+        {"customer.repeatPassword", "Confirm", "Password confirmation is required."}
+    };
+
+    private StandInPages() {
+    }
+
+    static String index(String error) {
+        return layout("Welcome | Online Banking", null,
+            error == null
+                ? "<h1 class=\"title\">Experience the difference</h1>"
+                : "<h1 class=\"title\">Error!</h1><p class=\"error\">" + escape(error) + "</p>");
+    }
+
+    static String register(Map<String, String> values, Map<String, String> errors) {
+        StringBuilder form = new StringBuilder("<h1 class=\"title\">Signing up is easy!</h1>"
+            + "<form id=\"customerForm\" method=\"post\" action=\"register.htm\"><table class=\"form2\">");
+        for (String[] field : REGISTRATION_FIELDS) {
+            String name = field[0];
+            String type = name.endsWith("assword") ? "password" : "text";
+            String value = type.equals("password") ? "" : values.getOrDefault(name, "");
+            form.append("<tr><td align=\"right\" width=\"30%\"><b>").append(field[1]).append(":</b></td>")
+                .append("<td width=\"20%\"><input id=\"").append(name).append("\" name=\"").append(name)
+                .append("\" class=\"input\" type=\"").append(type).append("\" value=\"").append(escape(value))
+                .append("\"></td><td>");
+            if (errors.containsKey(name)) {
+                form.append("<span id=\"").append(name).append(".errors\" class=\"error\">")
+                    .append(escape(errors.get(name))).append("</span>");
+            }
+            form.append("</td></tr>");
+        }
+        form.append("<tr><td></td><td colspan=\"2\"><input type=\"submit\" class=\"button\" value=\"Register\"></td></tr>")
+            .append("</table></form>");
+        return layout("Register for Free Online Account Access", null, form.toString());
+    }
+
+    static String registered(Bank.Customer customer) {
+        return layout("Customer Created", customer,
+            "<h1 class=\"title\">Welcome " + escape(customer.getUsername()) + "</h1>"
+                + "<p>Your login information was created successfully. You are now logged in.</p>");
+    }
+
+    static String overview(Bank.Customer customer) {
+        StringBuilder rows = new StringBuilder();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Bank.Account account : customer.getAccounts()) {
+            BigDecimal balance = account.getBalance();
+            total = total.add(balance);
+            rows.append("<tr><td><a href=\"activity.htm?id=").append(account.getId()).append("\">")
+                .append(account.getId()).append("</a></td><td>").append(money(balance)).append("</td><td>")
+                .append(money(balance)).append("</td></tr>");
+        }
+        return layout("Accounts Overview", customer,
+            "<h1 class=\"title\">Accounts Overview</h1>"
+                + "<table id=\"accountTable\" class=\"accounts\"><thead><tr><th>Account</th><th>Balance*</th>"
+                + "<th>Available Amount</th></tr></thead><tbody>" + rows + "</tbody>"
+                + "<tfoot><tr><td><b>Total</b></td><td><b>" + money(total) + "</b></td><td></td></tr></tfoot></table>");
+    }
+
+    static String openAccount(Bank.Customer customer, String error) {
+        return layout("Open Account", customer,
+            "<h1 class=\"title\">Open New Account</h1>" + errorParagraph(error)
+                + "<form method=\"post\" action=\"openaccount.htm\">"
+                + "<b>What type of Account would you like to open?</b>"
+                + "<select id=\"type\" name=\"type\" class=\"input\"><option value=\"" + Bank.CHECKING + "\">Checking</option>"
+                + "<option value=\"" + Bank.SAVINGS + "\">Savings</option></select>"
+                + "<b>A minimum of $100.00 must be deposited into this account at time of opening. Please choose an "
+                + "existing account to transfer funds into the new account.</b>"
+                + accountSelect("fromAccountId", customer.getAccounts())
+                + "<input type=\"submit\" class=\"button\" value=\"Open New Account\"></form>");
+    }
+
+    static String accountOpened(Bank.Customer customer, Bank.Account account) {
+        return layout("Open Account", customer,
+            "<h1 class=\"title\">Account Opened!</h1><p>Congratulations, your account is now open.</p>"
+                + "<p><b>Your new account number:</b> <a id=\"newAccountId\" href=\"activity.htm?id=" + account.getId()
+                + "\">" + account.getId() + "</a></p>");
+    }
+
+    static String transfer(Bank.Customer customer, String error) {
+        return layout("Transfer Funds", customer,
+            "<h1 class=\"title\">Transfer Funds</h1>" + errorParagraph(error)
+                + "<form method=\"post\" action=\"transfer.htm\">"
+                + "<b>Amount:</b> $<input id=\"amount\" name=\"amount\" type=\"text\" class=\"input\" value=\"\">"
+                + "<b>From account #</b>" + accountSelect("fromAccountId", customer.getAccounts())
+                + "<b>to account #</b>" + accountSelect("toAccountId", customer.getAccounts())
+                + "<input type=\"submit\" class=\"button\" value=\"Transfer\"></form>");
+    }
+
+    static String transferred(Bank.Customer customer, BigDecimal amount, long fromAccountId, long toAccountId) {
+        return layout("Transfer Funds", customer,
+            "<h1 class=\"title\">Transfer Complete!</h1>"
+                + "<p>Transfer Complete: <span id=\"amountResult\">" + money(amount) + "</span> has been transferred from "
+                + "account #<span id=\"fromAccountIdResult\">" + fromAccountId + "</span> to account #"
+                + "<span id=\"toAccountIdResult\">" + toAccountId + "</span>.</p>"
+                + "<p>See Account Activity for more details.</p>");
+    }
+
+    static String activity(Bank.Customer customer, Bank.Account account) {
+        StringBuilder rows = new StringBuilder();
+        for (Bank.Transaction transaction : account.getTransactions()) {
+            BigDecimal amount = transaction.getAmount();
+            rows.append("<tr><td>").append(transaction.getDate()).append("</td><td>")
+                .append(escape(transaction.getDescription())).append("</td><td>")
+                .append(amount.signum() < 0 ? money(amount.negate()) : "").append("</td><td>")
+                .append(amount.signum() >= 0 ? money(amount) : "").append("</td></tr>");
+        }
+        return layout("Account Activity", customer,
+            "<h1 class=\"title\">Account Details</h1><table id=\"accountDetails\">"
+                + "<tr><td>Account Number:</td><td id=\"accountId\">" + account.getId() + "</td></tr>"
+                + "<tr><td>Account Type:</td><td id=\"accountType\">" + account.getType() + "</td></tr>"
+                + "<tr><td>Balance:</td><td id=\"balance\">" + money(account.getBalance()) + "</td></tr></table>"
+                + "<h1 class=\"title\">Account Activity</h1><table id=\"transactionTable\" class=\"transactions\">"
+                + "<thead><tr><th>Date</th><th>Transaction</th><th>Debit (-)</th><th>Credit (+)</th></tr></thead>"
+                + "<tbody>" + rows + "</tbody></table>");
+    }
+
+    /**
+     * Page frame. The leftPanel carries the login form or, once logged in, the welcome heading and the
+     * account services links; it deliberately contains no paragraphs, because page objects read the
+     * first {@code p} of a page as its message.
+     */
+    private static String layout(String title, Bank.Customer customer, String rightPanel) {
+        String leftPanel = customer == null
+            ? "<h2>Customer Login</h2><form name=\"login\" method=\"post\" action=\"login.htm\"><div class=\"login\">"
+                + "<input type=\"text\" class=\"input\" name=\"customer.username\"></div><div class=\"login\">"
+                + "<input type=\"password\" class=\"input\" name=\"customer.password\"></div><div class=\"login\">"
+                + "<input type=\"submit\" class=\"button\" value=\"Log In\"></div></form>"
+                + "<a href=\"register.htm\">Register</a>"
+            : "<h2>Welcome " + escape(customer.getUsername()) + "</h2>"
+                + "<b class=\"smallText\">" + escape(customer.getFullName()) + "</b>"
+                + "<h2>Account Services</h2><ul>"
+                + "<li><a href=\"openaccount.htm\">Open New Account</a></li>"
+                + "<li><a href=\"overview.htm\">Accounts Overview</a></li>"
+                + "<li><a href=\"transfer.htm\">Transfer Funds</a></li>"
+                + "<li><a href=\"logout.htm\">Log Out</a></li></ul>";
+        return "<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>ParaBank | " + title + "</title></head><body>"
+            + "<div id=\"mainPanel\"><div id=\"headerPanel\"><h1 class=\"logo\">ParaBank</h1></div>"
+            + "<div id=\"bodyPanel\"><div id=\"leftPanel\">" + leftPanel + "</div>"
+            + "<div id=\"rightPanel\">" + rightPanel + "</div></div></div></body></html>";
+    }
+
+    private static String accountSelect(String id, List<Bank.Account> accounts) {
+        StringBuilder select = new StringBuilder("<select id=\"").append(id).append("\" name=\"").append(id)
+            .append("\" class=\"input\">");
+        for (Bank.Account account : accounts) {
+            select.append("<option value=\"").append(account.getId()).append("\">").append(account.getId()).append("</option>");
+        }
+        return select.append("</select>").toString();
+    }
+
+    private static String errorParagraph(String error) {
+        return error == null ? "" : "<p class=\"error\">" + escape(error) + "</p>";
+    }
+
+    private static String money(BigDecimal amount) {
+        return NumberFormat.getCurrencyInstance(Locale.US).format(amount);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
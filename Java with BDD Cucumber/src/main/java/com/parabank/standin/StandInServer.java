@@ -0,0 +1,462 @@
+package com.parabank.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.utils.LogUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process ParaBank stand-in on {@code http://localhost:<standIn.port>/parabank/}.
+ * <p>
+ * Serves the login, registration, accounts overview, open account, transfer and account activity
+ * pages, and the JSON banking services under services/bank/ (login, accounts, transactions, createAccount,
+ * transfer, deposit) as ParaBank's REST API has them, with in-memory state ({@link Bank}), so runs do not depend
+ * on the remote site's latency or availability. Every response is delayed by standIn.latency plus up to standIn.latencyJitter to
+ * model a real server. With standIn.enabled=true the configured baseUrl points here and
+ * {@link #start()} is called before the first scenario; {@link #main(String[])} runs it standalone.
+ */
+public class StandInServer {
+    public static final String CONTEXT_PATH = "/parabank/";
+    private static final String SESSION_COOKIE = "JSESSIONID";
+    private static final String SERVICES_PATH = "services/bank/";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private static final AtomicLong requests = new AtomicLong();
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static Bank bank;
+    private static long latencyMillis;
+    private static long jitterMillis;
+
+    /**
+     * Start the stand-in with the configured port and latency, unless it is already running
+     */
+    public static synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        Config.StandIn config = ConfigReader.get().standIn();
+        latencyMillis = config.getLatency().toMillis();
+        jitterMillis = config.getLatencyJitter().toMillis();
+        bank = new Bank();
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()), 128);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the ParaBank stand-in on port " + config.getPort(), e);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(config.getThreads(), task -> {
+            Thread thread = new Thread(task, "stand-in-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(CONTEXT_PATH, StandInServer::handle);
+        server.start();
+        LogUtils.info("ParaBank stand-in listening on {} (latency {}ms + up to {}ms)", getBaseUrl(), latencyMillis,
+            jitterMillis);
+    }
+
+    /**
+     * Stop the stand-in and log how many requests it served
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        sessions.clear();
+        LogUtils.info("ParaBank stand-in stopped after {} requests", requests.get());
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Get the stand-in's base URL, ending with a slash
+     *
+     * @return Base URL
+     */
+    public static String getBaseUrl() {
+        return "http://localhost:" + ConfigReader.get().standIn().getPort() + CONTEXT_PATH;
+    }
+
+    /**
+     * Run the stand-in until the JVM is stopped, e.g. for load runs from another process
+     *
+     * @param args Unused; configure with -DstandIn.port=..., -DstandIn.latency=...
+     */
+    public static void main(String[] args) throws InterruptedException {
+        start();
+        Runtime.getRuntime().addShutdownHook(new Thread(StandInServer::stop));
+        Thread.currentThread().join();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            delay();
+            String page = exchange.getRequestURI().getPath().substring(CONTEXT_PATH.length());
+            boolean post = exchange.getRequestMethod().equalsIgnoreCase("POST");
+            Map<String, String> form = query(exchange);
+            if (post) {
+                form.putAll(form(exchange));
+            }
+            if (page.startsWith(SERVICES_PATH)) {
+                service(exchange, page.substring(SERVICES_PATH.length()).split("/"), post, form);
+                return;
+            }
+            Optional<Bank.Customer> customer = bank.customer(sessions.get(sessionId(exchange)));
+
+            switch (page) {
+                case "":
+                case "index.htm":
+                    html(exchange, 200, StandInPages.index(null));
+                    break;
+                case "robots.txt":
+                    respond(exchange, 200, "text/plain", "User-agent: *\nDisallow: /\n");
+                    break;
+                case "login.htm":
+                    login(exchange, form);
+                    break;
+                case "register.htm":
+                    register(exchange, post, form);
+                    break;
+                case "logout.htm":
+                    sessions.remove(sessionId(exchange));
+                    redirect(exchange, "index.htm");
+                    break;
+                case "overview.htm":
+                case "openaccount.htm":
+                case "transfer.htm":
+                case "activity.htm":
+                    if (customer.isEmpty()) {
+                        redirect(exchange, "index.htm");
+                    } else {
+                        accountPage(exchange, page, post, form, customer.get());
+                    }
+                    break;
+                default:
+                    respond(exchange, 404, "text/plain", "Not found: " + page);
+            }
+        } catch (RuntimeException e) {
+            LogUtils.error("Stand-in failed on {}: {}", exchange.getRequestURI(), e.toString());
+            respond(exchange, 500, "text/plain", "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void login(HttpExchange exchange, Map<String, String> form) throws IOException {
+        // The browser form posts customer.username / customer.password, AuthClient username / password
+        String username = form.getOrDefault("username", form.getOrDefault("customer.username", ""));
+        String password = form.getOrDefault("password", form.getOrDefault("customer.password", ""));
+        if (username.isEmpty() || password.isEmpty()) {
+            html(exchange, 200, StandInPages.index("Please enter a username and password."));
+            return;
+        }
+        Optional<Bank.Customer> customer = bank.authenticate(username, password);
+        if (customer.isEmpty()) {
+            html(exchange, 200, StandInPages.index("The username and password could not be verified."));
+            return;
+        }
+        startSession(exchange, customer.get());
+        redirect(exchange, "overview.htm");
+    }
+
+    private static void register(HttpExchange exchange, boolean post, Map<String, String> form) throws IOException {
+        if (!post) {
+            html(exchange, 200, StandInPages.register(Map.of(), Map.of()));
+            return;
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        requireField(form, errors, "customer.firstName", "First name is required.");
+        requireField(form, errors, "customer.lastName", "Last name is required.");
+        requireField(form, errors, "customer.address.street", "Address is required.");
+        requireField(form, errors, "customer.address.city", "City is required.");
+        requireField(form, errors, "customer.address.state", "State is required.");
+        requireField(form, errors, "customer.address.zipCode", "Zip Code is required.");
+        requireField(form, errors, "customer.ssn", "Social Security Number is required.");
+        requireField(form, errors, "customer.username", "Username is required.");
+        requireField(form, errors, "customer.password", "Password is required.");
+        requireField(form, errors, "customer.repeatPassword", "Password confirmation is required.");
+        if (!errors.containsKey("customer.repeatPassword")
+            && !form.getOrDefault("customer.password", "").equals(form.get("customer.repeatPassword"))) {
+            errors.put("customer.repeatPassword", "Passwords do not match.");
+        }
+
+        Optional<Bank.Customer> customer = Optional.empty();
+        if (errors.isEmpty()) {
+            customer = bank.register(form.get("customer.username"), form.get("customer.password"),
+                form.get("customer.firstName"), form.get("customer.lastName"));
+            if (customer.isEmpty()) {
+                errors.put("customer.username", "This username already exists.");
+            }
+        }
+        if (customer.isEmpty()) {
+            html(exchange, 200, StandInPages.register(form, errors));
+            return;
+        }
+        startSession(exchange, customer.get());
+        html(exchange, 200, StandInPages.registered(customer.get()));
+    }
+
+    private static void accountPage(HttpExchange exchange, String page, boolean post, Map<String, String> form,
+                                    Bank.Customer customer) throws IOException {
+        switch (page) {
+            case "overview.htm":
+                html(exchange, 200, StandInPages.overview(customer));
+                break;
+            case "openaccount.htm":
+                if (!post) {
+                    html(exchange, 200, StandInPages.openAccount(customer, null));
+                    break;
+                }
+                try {
+                    Bank.Account account = bank.openAccount(customer, form.getOrDefault("type", Bank.CHECKING),
+                        Long.parseLong(form.getOrDefault("fromAccountId", "")));
+                    html(exchange, 200, StandInPages.accountOpened(customer, account));
+                } catch (IllegalArgumentException e) {
+                    html(exchange, 200, StandInPages.openAccount(customer, e.getMessage()));
+                }
+                break;
+            case "transfer.htm":
+                if (!post) {
+                    html(exchange, 200, StandInPages.transfer(customer, null));
+                    break;
+                }
+                try {
+                    BigDecimal amount = new BigDecimal(form.getOrDefault("amount", "").trim());
+                    long from = Long.parseLong(form.getOrDefault("fromAccountId", ""));
+                    long to = Long.parseLong(form.getOrDefault("toAccountId", ""));
+                    bank.transfer(customer, from, to, amount);
+                    html(exchange, 200, StandInPages.transferred(customer, amount, from, to));
+                } catch (NumberFormatException e) {
+                    html(exchange, 200, StandInPages.transfer(customer, "The amount cannot be empty and must be a number."));
+                } catch (IllegalArgumentException e) {
+                    html(exchange, 200, StandInPages.transfer(customer, e.getMessage()));
+                }
+                break;
+            default:
+                long accountId;
+                try {
+                    accountId = Long.parseLong(form.getOrDefault("id", ""));
+                } catch (NumberFormatException e) {
+                    accountId = -1;
+                }
+                Optional<Bank.Account> account = customer.account(accountId);
+                if (account.isPresent()) {
+                    html(exchange, 200, StandInPages.activity(customer, account.get()));
+                } else {
+                    respond(exchange, 404, "text/plain", "Unknown account " + form.get("id"));
+                }
+        }
+    }
+
+    /**
+     * JSON banking services; like ParaBank's they are stateless and take customer and account ids
+     */
+    private static void service(HttpExchange exchange, String[] path, boolean post, Map<String, String> params)
+            throws IOException {
+        try {
+            if (path.length == 3 && path[0].equals("login")) {
+                Optional<Bank.Customer> customer = bank.authenticate(path[1], path[2]);
+                if (customer.isEmpty()) {
+                    respond(exchange, 400, "text/plain", "Invalid username and/or password");
+                } else {
+                    json(exchange, customerJson(customer.get()));
+                }
+            } else if (path.length == 3 && path[0].equals("customers") && path[2].equals("accounts")) {
+                Bank.Customer customer = bank.customer(Long.parseLong(path[1]))
+                    .orElseThrow(() -> new IllegalArgumentException("Could not find customer #" + path[1]));
+                List<Map<String, Object>> accounts = new ArrayList<>();
+                customer.getAccounts().forEach(account -> accounts.add(accountJson(customer, account)));
+                json(exchange, accounts);
+            } else if ((path.length == 2 || path.length == 3) && path[0].equals("accounts")) {
+                long accountId = Long.parseLong(path[1]);
+                Bank.Customer customer = owner(accountId);
+                Bank.Account account = customer.account(accountId).orElseThrow();
+                if (path.length == 2) {
+                    json(exchange, accountJson(customer, account));
+                } else if (path[2].equals("transactions")) {
+                    List<Map<String, Object>> transactions = new ArrayList<>();
+                    account.getTransactions().forEach(transaction -> transactions.add(transactionJson(accountId, transaction)));
+                    json(exchange, transactions);
+                } else {
+                    respond(exchange, 404, "text/plain", "Not found: " + String.join("/", path));
+                }
+            } else if (post && path.length == 1 && path[0].equals("createAccount")) {
+                Bank.Customer customer = bank.customer(Long.parseLong(params.getOrDefault("customerId", "")))
+                    .orElseThrow(() -> new IllegalArgumentException("Could not find customer #" + params.get("customerId")));
+                // newAccountType is ParaBank's ordinal: 0 checking, 1 savings
+                String type = "1".equals(params.get("newAccountType")) ? Bank.SAVINGS : Bank.CHECKING;
+                Bank.Account account = bank.openAccount(customer, type, Long.parseLong(params.getOrDefault("fromAccountId", "")));
+                json(exchange, accountJson(customer, account));
+            } else if (post && path.length == 1 && path[0].equals("transfer")) {
+                long from = Long.parseLong(params.getOrDefault("fromAccountId", ""));
+                long to = Long.parseLong(params.getOrDefault("toAccountId", ""));
+                BigDecimal amount = new BigDecimal(params.getOrDefault("amount", "").trim());
+                bank.transfer(owner(from), from, to, amount);
+                respond(exchange, 200, "text/plain", "Successfully transferred $" + amount.setScale(2, RoundingMode.HALF_UP)
+                    + " from account #" + from + " to account #" + to);
+            } else if (post && path.length == 1 && path[0].equals("deposit")) {
+                long accountId = Long.parseLong(params.getOrDefault("accountId", ""));
+                BigDecimal amount = new BigDecimal(params.getOrDefault("amount", "").trim());
+                bank.deposit(owner(accountId), accountId, amount);
+                respond(exchange, 200, "text/plain", "Successfully deposited $" + amount.setScale(2, RoundingMode.HALF_UP)
+                    + " to account #" + accountId);
+            } else {
+                respond(exchange, 404, "text/plain", "Not found: " + String.join("/", path));
+            }
+        } catch (IllegalArgumentException | NoSuchElementException e) {
+            // NumberFormatException included: bad ids and amounts are client errors, as in ParaBank
+            respond(exchange, 400, "text/plain", e.getMessage() == null ? "Bad request" : e.getMessage());
+        }
+    }
+
+    private static Bank.Customer owner(long accountId) {
+        return bank.ownerOf(accountId).orElseThrow(() -> new IllegalArgumentException("Could not find account #" + accountId));
+    }
+
+    private static Map<String, Object> customerJson(Bank.Customer customer) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", customer.getId());
+        json.put("firstName", customer.getFirstName());
+        json.put("lastName", customer.getLastName());
+        return json;
+    }
+
+    private static Map<String, Object> accountJson(Bank.Customer customer, Bank.Account account) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", account.getId());
+        json.put("customerId", customer.getId());
+        json.put("type", account.getType());
+        json.put("balance", account.getBalance());
+        return json;
+    }
+
+    private static Map<String, Object> transactionJson(long accountId, Bank.Transaction transaction) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("accountId", accountId);
+        json.put("type", transaction.getAmount().signum() < 0 ? "Debit" : "Credit");
+        json.put("date", transaction.getDate().toString());
+        json.put("amount", transaction.getAmount().abs());
+        json.put("description", transaction.getDescription());
+        return json;
+    }
+
+    private static void json(HttpExchange exchange, Object body) throws IOException {
+        respond(exchange, 200, "application/json", JSON.writeValueAsString(body));
+    }
+
+    private static void requireField(Map<String, String> form, Map<String, String> errors, String field, String message) {
+        if (form.getOrDefault(field, "").trim().isEmpty()) {
+            errors.put(field, message);
+        }
+    }
+
+    private static void startSession(HttpExchange exchange, Bank.Customer customer) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String sessionId = Long.toHexString(random.nextLong()).toUpperCase() + Long.toHexString(random.nextLong()).toUpperCase();
+        sessions.put(sessionId, customer.getUsername());
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=" + CONTEXT_PATH + "; HttpOnly");
+    }
+
+    private static String sessionId(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies == null) {
+            return "";
+        }
+        for (String cookie : cookies.split(";")) {
+            String trimmed = cookie.trim();
+            if (trimmed.startsWith(SESSION_COOKIE + "=")) {
+                return trimmed.substring(SESSION_COOKIE.length() + 1);
+            }
+        }
+        return "";
+    }
+
+    private static void delay() {
+        long millis = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (millis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, String> form(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return decode(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        return query == null ? new HashMap<>() : decode(query);
+    }
+
+    private static Map<String, String> decode(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            values.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void html(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, "text/html; charset=UTF-8", body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.parabank.utils;
+
+/**
+ * Scenario, step and page objects currently executing on this thread, for attributing measurements
+ */
+public class ExecutionContext {
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentStep = new ThreadLocal<>();
+    private static final ThreadLocal<String> failedStep = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentPages = new ThreadLocal<>();
+
+    /**
+     * Set scenario executing on the current thread
+     *
+     * @param scenarioName Scenario name
+     */
+    public static void setScenario(String scenarioName) {
+        currentScenario.set(scenarioName);
+        currentStep.remove();
+        failedStep.remove();
+        currentPages.remove();
+    }
+
+    /**
+     * Set step executing on the current thread
+     *
+     * @param stepPattern Step definition pattern
+     */
+    public static void setStep(String stepPattern) {
+        currentStep.set(stepPattern);
+        currentPages.remove();
+    }
+
+    /**
+     * Record that a page object method runs in the current step
+     *
+     * @param pageClass Simple name of the page object class, e.g. "LoginPage"
+     */
+    public static void addPage(String pageClass) {
+        String pages = currentPages.get();
+        if (pages == null) {
+            currentPages.set(pageClass);
+        } else if (!pages.equals(pageClass) && !(", " + pages + ", ").contains(", " + pageClass + ", ")) {
+            // A step driving several pages is rare; list them in the order they were used
+            currentPages.set(pages + ", " + pageClass);
+        }
+    }
+
+    /**
+     * Get the page objects driven by the current step. They stay readable after the step finished,
+     * until the next step starts.
+     *
+     * @return Page object class names, comma separated, or "(no page)" if the step drove none
+     */
+    public static String getPages() {
+        String pages = currentPages.get();
+        return pages == null ? "(no page)" : pages;
+    }
+
+    /**
+     * Forget the page objects recorded so far, at the start of a step
+     */
+    public static void clearPages() {
+        currentPages.remove();
+    }
+
+    /**
+     * Get scenario executing on the current thread
+     *
+     * @return Scenario name, or "(no scenario)" outside of a scenario
+     */
+    public static String getScenario() {
+        String scenario = currentScenario.get();
+        return scenario == null ? "(no scenario)" : scenario;
+    }
+
+    /**
+     * Get step executing on the current thread
+     *
+     * @return Step definition pattern, or "(hooks)" while no step is running
+     */
+    public static String getStep() {
+        String step = currentStep.get();
+        return step == null ? "(hooks)" : step;
+    }
+
+    /**
+     * Remember the step that failed the scenario
+     *
+     * @param stepText Step text as written in the feature, e.g. "When user clicks login button"
+     */
+    public static void setFailedStep(String stepText) {
+        failedStep.set(stepText);
+    }
+
+    /**
+     * Get the step that failed the scenario executing on the current thread, for the After hooks
+     *
+     * @return Step text, or "(hooks)" if no step failed (the scenario failed in a hook)
+     */
+    public static String getFailedStep() {
+        String step = failedStep.get();
+        return step == null ? "(hooks)" : step;
+    }
+
+    /**
+     * Clear the step once it has finished
+     */
+    public static void clearStep() {
+        currentStep.remove();
+    }
+
+    /**
+     * Clear scenario and step of the current thread
+     */
+    public static void clear() {
+        currentScenario.remove();
+        currentStep.remove();
+        failedStep.remove();
+        currentPages.remove();
+    }
+}
@@ -2,9 +2,21 @@ package com.parabank.utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import java.util.function.Supplier;
 
 /**
- * Logging utility for consistent logging across the application
+ * Logging utility for consistent logging across the application.
+ * <p>
+ * Prefer the parameterized overloads ({@code LogUtils.info("Entered username: {}", username)}) over
+ * string concatenation: the message is only formatted if the level is enabled, and with the
+ * garbage-free log4j2 configuration formatting reuses thread-local buffers. The fixed-arity overloads
+ * avoid the varargs array. Use the {@link Supplier} overloads when computing an argument is itself
+ * expensive. Loggers under {@code com.parabank} are asynchronous (see log4j2.xml).
+ * <p>
+ * Output logged between {@link #startScenario(String)} and {@link #endScenario(String, boolean)} is
+ * tagged with the scenario id and kept in a per-scenario file only if the scenario fails
+ * (see {@link ScenarioLogAppender}).
  */
 public class LogUtils {
     private static Logger logger = LogManager.getLogger(LogUtils.class);
@@ -13,14 +25,80 @@ public class LogUtils {
         logger.info(message);
     }
 
+    public static void info(String format, Object arg) {
+        logger.info(format, arg);
+    }
+
+    public static void info(String format, Object arg1, Object arg2) {
+        logger.info(format, arg1, arg2);
+    }
+
+    public static void info(String format, Object arg1, Object arg2, Object arg3) {
+        logger.info(format, arg1, arg2, arg3);
+    }
+
+    public static void info(String format, Object... args) {
+        logger.info(format, args);
+    }
+
+    public static void info(Supplier<?> messageSupplier) {
+        if (logger.isInfoEnabled()) {
+            logger.info(String.valueOf(messageSupplier.get()));
+        }
+    }
+
     public static void debug(String message) {
         logger.debug(message);
     }
 
+    public static void debug(String format, Object arg) {
+        logger.debug(format, arg);
+    }
+
+    public static void debug(String format, Object arg1, Object arg2) {
+        logger.debug(format, arg1, arg2);
+    }
+
+    public static void debug(String format, Object arg1, Object arg2, Object arg3) {
+        logger.debug(format, arg1, arg2, arg3);
+    }
+
+    public static void debug(String format, Object... args) {
+        logger.debug(format, args);
+    }
+
+    public static void debug(Supplier<?> messageSupplier) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.valueOf(messageSupplier.get()));
+        }
+    }
+
     public static void warn(String message) {
         logger.warn(message);
     }
 
+    public static void warn(String format, Object arg) {
+        logger.warn(format, arg);
+    }
+
+    public static void warn(String format, Object arg1, Object arg2) {
+        logger.warn(format, arg1, arg2);
+    }
+
+    public static void warn(String format, Object arg1, Object arg2, Object arg3) {
+        logger.warn(format, arg1, arg2, arg3);
+    }
+
+    public static void warn(String format, Object... args) {
+        logger.warn(format, args);
+    }
+
+    public static void warn(Supplier<?> messageSupplier) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(String.valueOf(messageSupplier.get()));
+        }
+    }
+
     public static void error(String message) {
         logger.error(message);
     }
@@ -29,7 +107,86 @@ public class LogUtils {
         logger.error(message, throwable);
     }
 
+    /**
+     * Log an error; as in log4j2, a trailing Throwable argument is logged with its stack trace
+     */
+    public static void error(String format, Object arg) {
+        logger.error(format, arg);
+    }
+
+    public static void error(String format, Object arg1, Object arg2) {
+        logger.error(format, arg1, arg2);
+    }
+
+    public static void error(String format, Object arg1, Object arg2, Object arg3) {
+        logger.error(format, arg1, arg2, arg3);
+    }
+
+    public static void error(String format, Object... args) {
+        logger.error(format, args);
+    }
+
+    public static void error(Supplier<?> messageSupplier) {
+        if (logger.isErrorEnabled()) {
+            logger.error(String.valueOf(messageSupplier.get()));
+        }
+    }
+
     public static void fatal(String message) {
         logger.fatal(message);
     }
+
+    /**
+     * Build a file-name-safe id for the scenario's log, unique within the run: feature, line and name
+     *
+     * @param featurePath Path of the feature file, e.g. src/test/resources/features/login.feature; may be null
+     * @param line Line of the scenario in the feature file
+     * @param name Scenario name
+     * @return Scenario id, e.g. login-L17-Login-fails-with-invalid-credentials
+     */
+    public static String scenarioLogId(String featurePath, int line, String name) {
+        String feature = featurePath == null ? "scenario"
+            : featurePath.substring(featurePath.lastIndexOf('/') + 1).replace(".feature", "");
+        String safeName = name.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "");
+        if (safeName.length() > 60) {
+            safeName = safeName.substring(0, 60);
+        }
+        return feature + "-L" + line + "-" + safeName;
+    }
+
+    /**
+     * Tag everything the current thread logs from now on with a scenario id
+     *
+     * @param scenarioId Scenario id, also the name of the scenario's log file
+     */
+    public static void startScenario(String scenarioId) {
+        ThreadContext.put(ScenarioLogAppender.SCENARIO_ID, scenarioId);
+    }
+
+    /**
+     * Log the outcome of the current thread's scenario and stop tagging its output.
+     * The scenario's buffered log is written to its own file if it failed and discarded otherwise.
+     *
+     * @param scenarioName Scenario name
+     * @param failed Whether the scenario failed
+     */
+    public static void endScenario(String scenarioName, boolean failed) {
+        String scenarioId = ThreadContext.get(ScenarioLogAppender.SCENARIO_ID);
+        if (failed) {
+            logger.info(ScenarioLogAppender.SCENARIO_FAILED, "Scenario failed: {} (log: scenarios/{}.log)",
+                scenarioName, scenarioId);
+        } else {
+            logger.info(ScenarioLogAppender.SCENARIO_PASSED, "Scenario passed: {}", scenarioName);
+        }
+        ThreadContext.remove(ScenarioLogAppender.SCENARIO_ID);
+    }
+
+    /**
+     * Check whether debug messages are logged, for guarding work that only feeds debug output
+     *
+     * @return true if debug is enabled
+     */
+    public static boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
 }
@@ -0,0 +1,294 @@
+package com.parabank.utils;
+
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log4j2 appender buffering the log output of each scenario in memory.
+ * Events are grouped by the {@value #SCENARIO_ID} thread context key set by
+ * {@link LogUtils#startScenario(String)}. The end-of-scenario event logged by
+ * {@link LogUtils#endScenario(String, boolean)} travels through the same (asynchronous) logger as the
+ * scenario's own events, so when it arrives the buffer is complete: it is written to
+ * {@code <directory>/<scenarioId>.log} if the scenario failed and dropped if it passed.
+ * <p>
+ * Each buffer keeps at most maxBufferSize bytes; when it overflows the oldest output is dropped,
+ * keeping the output leading up to the failure.
+ * <p>
+ * Appending does not allocate per event: the layout encodes into a reused per-thread byte buffer, which is
+ * copied into fixed-size chunks. Chunks of finished scenarios go back to a shared pool for the next ones.
+ */
+@Plugin(name = "ScenarioLog", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public class ScenarioLogAppender extends AbstractAppender {
+    public static final String SCENARIO_ID = "scenarioId";
+    public static final Marker SCENARIO_END = MarkerManager.getMarker("SCENARIO_END");
+    public static final Marker SCENARIO_PASSED = MarkerManager.getMarker("SCENARIO_PASSED").setParents(SCENARIO_END);
+    public static final Marker SCENARIO_FAILED = MarkerManager.getMarker("SCENARIO_FAILED").setParents(SCENARIO_END);
+
+    private static final AtomicLong scenariosWritten = new AtomicLong();
+    private static final AtomicLong scenariosDiscarded = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong bytesDiscarded = new AtomicLong();
+    private static final int CHUNK_SIZE = 16 * 1024;
+    // Up to 4 MB of chunks are kept for reuse; larger bursts are left to the garbage collector
+    private static final int MAX_POOLED_CHUNKS = 256;
+    private static final Deque<byte[]> chunkPool = new ArrayDeque<>();
+    private static final ThreadLocal<LineEncoder> encoders = ThreadLocal.withInitial(LineEncoder::new);
+
+    private final Path directory;
+    private final long maxBufferSize;
+    private final boolean keepPassed;
+    private final Map<String, ScenarioBuffer> buffers = new ConcurrentHashMap<>();
+
+    private ScenarioLogAppender(String name, Filter filter, Layout<? extends Serializable> layout, Path directory,
+                                long maxBufferSize, boolean keepPassed) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.directory = directory;
+        this.maxBufferSize = maxBufferSize;
+        this.keepPassed = keepPassed;
+    }
+
+    /**
+     * Create the appender from its log4j2.xml element
+     *
+     * @param name Appender name
+     * @param directory Directory for the logs of failed scenarios
+     * @param maxBufferSize Maximum bytes buffered per scenario
+     * @param keepPassed Also write the logs of passed scenarios
+     * @param layout Layout, defaults to the default pattern layout
+     * @param filter Optional filter
+     * @return Appender
+     */
+    @PluginFactory
+    public static ScenarioLogAppender createAppender(@PluginAttribute("name") String name,
+                                                     @PluginAttribute(value = "directory", defaultString = "logs/scenarios") String directory,
+                                                     @PluginAttribute(value = "maxBufferSize", defaultLong = 8 * 1024 * 1024) long maxBufferSize,
+                                                     @PluginAttribute(value = "keepPassed", defaultBoolean = false) boolean keepPassed,
+                                                     @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                     @PluginElement("Filter") Filter filter) {
+        return new ScenarioLogAppender(name, filter, layout == null ? PatternLayout.createDefaultLayout() : layout,
+            Paths.get(directory), maxBufferSize, keepPassed);
+    }
+
+    /**
+     * Log how much scenario output was written and how much was kept off the disk
+     */
+    public static void logStatistics() {
+        LogUtils.info("Scenario logs: written={} ({} KB), discarded={} ({} KB)", scenariosWritten.get(),
+            bytesWritten.get() / 1024, scenariosDiscarded.get(), bytesDiscarded.get() / 1024);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String scenarioId = event.getContextData().getValue(SCENARIO_ID);
+        if (scenarioId == null) {
+            return;
+        }
+        ScenarioBuffer buffer = buffers.get(scenarioId);
+        if (buffer == null) {
+            buffer = buffers.computeIfAbsent(scenarioId, id -> new ScenarioBuffer());
+        }
+        LineEncoder encoder = encoders.get();
+        synchronized (buffer) {
+            encoder.target = buffer;
+            encoder.maxSize = maxBufferSize;
+            getLayout().encode(event, encoder);
+            encoder.drain(encoder.buffer);
+            encoder.target = null;
+        }
+
+        Marker marker = event.getMarker();
+        if (marker != null && marker.isInstanceOf(SCENARIO_END)) {
+            buffers.remove(scenarioId);
+            if (marker.isInstanceOf(SCENARIO_FAILED) || keepPassed) {
+                write(scenarioId + ".log", buffer);
+            } else {
+                scenariosDiscarded.incrementAndGet();
+                bytesDiscarded.addAndGet(buffer.size);
+            }
+            buffer.release();
+        }
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        // Scenarios that never reported an outcome (e.g. the JVM is exiting mid-run) are kept
+        buffers.forEach((scenarioId, buffer) -> {
+            write(scenarioId + ".incomplete.log", buffer);
+            buffer.release();
+        });
+        buffers.clear();
+        boolean stopped = super.stop(timeout, timeUnit, false);
+        setStopped();
+        return stopped;
+    }
+
+    private void write(String fileName, ScenarioBuffer buffer) {
+        synchronized (buffer) {
+            try {
+                Files.createDirectories(directory);
+                try (OutputStream out = Files.newOutputStream(directory.resolve(fileName))) {
+                    int offset = 0;
+                    if (buffer.droppedBytes > 0) {
+                        out.write(("... " + buffer.droppedBytes / 1024 + " KB of earlier output dropped (maxBufferSize="
+                            + maxBufferSize + ")" + System.lineSeparator()).getBytes());
+                        // The oldest kept chunk may start mid-line
+                        offset = buffer.firstLineStart();
+                    }
+                    for (byte[] chunk : buffer.chunks) {
+                        int length = chunk == buffer.chunks.peekLast() ? buffer.position : CHUNK_SIZE;
+                        out.write(chunk, offset, length - offset);
+                        offset = 0;
+                    }
+                }
+                scenariosWritten.incrementAndGet();
+                bytesWritten.addAndGet(buffer.size);
+            } catch (IOException e) {
+                error("Failed to write scenario log " + fileName + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static byte[] takeChunk() {
+        synchronized (chunkPool) {
+            byte[] chunk = chunkPool.pollFirst();
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return new byte[CHUNK_SIZE];
+    }
+
+    private static void returnChunk(byte[] chunk) {
+        synchronized (chunkPool) {
+            if (chunkPool.size() < MAX_POOLED_CHUNKS) {
+                chunkPool.addFirst(chunk);
+            }
+        }
+    }
+
+    /**
+     * Encoded log output of one scenario, in chunks of {@value #CHUNK_SIZE} bytes; only the last one is partly filled
+     */
+    private static class ScenarioBuffer {
+        private final Deque<byte[]> chunks = new ArrayDeque<>();
+        private int position = CHUNK_SIZE;
+        private long size;
+        private long droppedBytes;
+        private boolean released;
+
+        private synchronized void write(byte[] data, int offset, int length, long maxSize) {
+            if (released) {
+                // Output arriving after the scenario ended has nowhere to go
+                return;
+            }
+            while (length > 0) {
+                if (position == CHUNK_SIZE) {
+                    chunks.addLast(takeChunk());
+                    position = 0;
+                }
+                int count = Math.min(length, CHUNK_SIZE - position);
+                System.arraycopy(data, offset, chunks.peekLast(), position, count);
+                position += count;
+                offset += count;
+                length -= count;
+                size += count;
+            }
+            while (size > maxSize && chunks.size() > 1) {
+                returnChunk(chunks.removeFirst());
+                size -= CHUNK_SIZE;
+                droppedBytes += CHUNK_SIZE;
+            }
+        }
+
+        /**
+         * Offset of the first complete line in the oldest chunk
+         */
+        private int firstLineStart() {
+            byte[] first = chunks.peekFirst();
+            int length = first == chunks.peekLast() ? position : CHUNK_SIZE;
+            for (int i = 0; i < length; i++) {
+                if (first[i] == '\n') {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+
+        private synchronized void release() {
+            released = true;
+            chunks.forEach(ScenarioLogAppender::returnChunk);
+            chunks.clear();
+        }
+    }
+
+    /**
+     * Per-thread target of {@link Layout#encode}: collects the encoded event in a reused buffer and copies
+     * it into the scenario's chunks
+     */
+    private static class LineEncoder implements ByteBufferDestination {
+        private final ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        private ScenarioBuffer target;
+        private long maxSize;
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(ByteBuffer buf) {
+            buf.flip();
+            if (buf.hasRemaining()) {
+                target.write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining(), maxSize);
+            }
+            buf.clear();
+            return buf;
+        }
+
+        @Override
+        public void writeBytes(ByteBuffer data) {
+            drain(buffer);
+            while (data.hasRemaining()) {
+                int count = Math.min(data.remaining(), buffer.capacity());
+                int limit = data.limit();
+                data.limit(data.position() + count);
+                buffer.put(data);
+                data.limit(limit);
+                drain(buffer);
+            }
+        }
+
+        @Override
+        public void writeBytes(byte[] data, int offset, int length) {
+            drain(buffer);
+            target.write(data, offset, length, maxSize);
+        }
+    }
+}
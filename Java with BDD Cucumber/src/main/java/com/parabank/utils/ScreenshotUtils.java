@@ -3,23 +3,69 @@ package com.parabank.utils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import java.io.File;
+import org.openqa.selenium.WebDriverException;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.jfr.ScreenshotEvent;
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import org.apache.commons.io.FileUtils;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Screenshot utility for capturing screenshots during test execution
+ * Screenshot utility for capturing screenshots during test execution.
+ * Only the capture itself happens on the test thread; decoding, hashing and the disk write are done
+ * by a bounded background writer using NIO channels.
+ * <p>
+ * Images are stored content-addressed under {@code objects/<hash prefix>/<sha-256>.png}, so identical
+ * captures are stored once. {@code index.csv} maps every capture (scenario, step) to its image, and
+ * an optional downscaled copy for reports is kept under {@code thumbnails/}.
  */
 public class ScreenshotUtils {
-    private static String screenshotPath = "target/screenshots/";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final Config.Screenshots CONFIG = ConfigReader.get().screenshots();
+    private static final boolean THUMBNAILS = CONFIG.isThumbnails();
+    private static final int THUMBNAIL_WIDTH = CONFIG.getThumbnailWidth();
+    private static final String INDEX_HEADER = "timestamp,scenario,step,sha256,image,thumbnail\n";
+    private static final int QUEUE_CAPACITY = CONFIG.getQueueCapacity();
+    private static final boolean DROP_WHEN_FULL = CONFIG.getOverflowPolicy() == Config.OverflowPolicy.DROP;
+
+    private static volatile Path screenshotPath = Paths.get("target/screenshots/");
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong deduplicated = new AtomicLong();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    // Captures handed to the writer and not yet stored
+    private static final AtomicLong pending = new AtomicLong();
+    // Only touched by the single writer thread
+    private static final Set<String> storedHashes = new HashSet<>();
+    private static final ThreadPoolExecutor writer = createWriter();
 
     static {
-        File directory = new File(screenshotPath);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
+        createDirectory(screenshotPath);
     }
 
     /**
@@ -27,25 +73,84 @@ public class ScreenshotUtils {
      *
      * @param driver WebDriver instance
      * @param screenshotName Name of the screenshot
-     * @return File path of the screenshot
+     * @return Index entry of the capture (see {@link #captureScreenshot(WebDriver, String, String)})
      */
     public static String captureScreenshot(WebDriver driver, String screenshotName) {
+        return captureScreenshot(driver, screenshotName, "");
+    }
+
+    /**
+     * Capture screenshot. The image is stored asynchronously; call {@link #flush()} before relying on it.
+     * <p>
+     * Returns the index entry rather than a file path: images are named by their SHA-256, which is only known
+     * once the writer thread has stored them. Look the entry up in index.csv to find the image.
+     *
+     * @param driver WebDriver instance
+     * @param scenarioName Scenario the capture belongs to
+     * @param stepName Step the capture belongs to
+     * @return Index entry "scenario / step" under which the image is recorded in index.csv,
+     *         or null if it could not be captured
+     */
+    public static String captureScreenshot(WebDriver driver, String scenarioName, String stepName) {
+        if (!(driver instanceof TakesScreenshot)) {
+            LogUtils.warn("Driver does not support screenshots: {}", scenarioName);
+            return null;
+        }
+        String encoded;
+        ScreenshotEvent captureEvent = new ScreenshotEvent();
+        captureEvent.begin();
+        captureEvent.phase = ScreenshotEvent.CAPTURE;
+        captureEvent.scenario = scenarioName;
+        captureEvent.step = stepName;
         try {
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File sourceFile = ts.getScreenshotAs(OutputType.FILE);
-            
-            String timeStamp = new SimpleDateFormat("yyyy-MM-dd HH-mm-ss").format(new Date());
-            String fileName = screenshotPath + screenshotName + "_" + timeStamp + ".png";
-            
-            File destinationFile = new File(fileName);
-            FileUtils.copyFile(sourceFile, destinationFile);
-            
-            LogUtils.info("Screenshot captured: " + fileName);
-            return fileName;
-        } catch (IOException e) {
-            LogUtils.error("Failed to capture screenshot: " + e.getMessage());
+            // Base64 is what the browser sends; decoding is left to the writer thread
+            encoded = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            captureEvent.bytes = encoded.length();
+        } catch (WebDriverException e) {
+            LogUtils.error("Failed to capture screenshot: {}", e.getMessage());
             return null;
+        } finally {
+            captureEvent.commit();
         }
+
+        String timestamp = LocalDateTime.now().format(TIMESTAMP);
+        Path directory = screenshotPath;
+        pending.incrementAndGet();
+        try {
+            writer.execute(() -> {
+                try {
+                    store(directory, timestamp, scenarioName, stepName, encoded);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            LogUtils.warn("Screenshot dropped: {} / {}", scenarioName, stepName);
+            return null;
+        }
+        return scenarioName + " / " + stepName;
+    }
+
+    /**
+     * Wait for all queued screenshots to be written. The writer keeps running, so captures after a flush (a
+     * second runner in the same JVM, late hooks) are still stored; its daemon thread never holds up JVM exit.
+     */
+    public static void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        try {
+            while (pending.get() > 0 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pending.get() > 0) {
+            LogUtils.warn("Screenshot writer did not finish within 60s, {} captures still queued", pending.get());
+        }
+        LogUtils.info("Screenshots stored: {}, deduplicated: {} ({} KB saved), dropped: {}",
+            written.get(), deduplicated.get(), bytesSaved.get() / 1024, dropped.get());
     }
 
     /**
@@ -54,10 +159,128 @@ public class ScreenshotUtils {
      * @param path Path for screenshots
      */
     public static void setScreenshotPath(String path) {
-        screenshotPath = path;
-        File directory = new File(screenshotPath);
-        if (!directory.exists()) {
-            directory.mkdirs();
+        screenshotPath = Paths.get(path);
+        createDirectory(screenshotPath);
+    }
+
+    private static void store(Path directory, String timestamp, String scenarioName, String stepName, String encoded) {
+        ScreenshotEvent storeEvent = new ScreenshotEvent();
+        storeEvent.begin();
+        storeEvent.phase = ScreenshotEvent.STORE;
+        storeEvent.scenario = scenarioName;
+        storeEvent.step = stepName;
+        byte[] image = Base64.getMimeDecoder().decode(encoded);
+        storeEvent.bytes = image.length;
+        String hash = sha256(image);
+        Path object = directory.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash + ".png");
+        Path thumbnail = directory.resolve("thumbnails").resolve(hash + ".png");
+        try {
+            if (storedHashes.contains(hash) || Files.exists(object)) {
+                storeEvent.deduplicated = true;
+                deduplicated.incrementAndGet();
+                bytesSaved.addAndGet(image.length);
+            } else {
+                Files.createDirectories(object.getParent());
+                write(object, ByteBuffer.wrap(image), StandardOpenOption.TRUNCATE_EXISTING);
+                if (THUMBNAILS) {
+                    writeThumbnail(thumbnail, image);
+                }
+                written.incrementAndGet();
+                LogUtils.info("Screenshot captured: {}", object);
+            }
+            storedHashes.add(hash);
+
+            Path index = directory.resolve("index.csv");
+            StringBuilder line = new StringBuilder();
+            if (!Files.exists(index)) {
+                line.append(INDEX_HEADER);
+            }
+            line.append(timestamp).append(',').append(csv(scenarioName)).append(',').append(csv(stepName)).append(',')
+                .append(hash).append(',').append(directory.relativize(object)).append(',')
+                .append(THUMBNAILS && Files.exists(thumbnail) ? directory.relativize(thumbnail).toString() : "")
+                .append('\n');
+            write(index, ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8)), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LogUtils.error("Failed to store screenshot of {}: {}", scenarioName, e.getMessage());
+        } finally {
+            storeEvent.commit();
+        }
+    }
+
+    private static void writeThumbnail(Path thumbnail, byte[] image) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(image));
+        if (source == null) {
+            return;
+        }
+        int width = Math.min(THUMBNAIL_WIDTH, source.getWidth());
+        int height = Math.max(1, source.getHeight() * width / source.getWidth());
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "png", png);
+        Files.createDirectories(thumbnail.getParent());
+        write(thumbnail, ByteBuffer.wrap(png.toByteArray()), StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void write(Path destination, ByteBuffer buffer, StandardOpenOption mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Single writer thread with a bounded queue; a full queue either blocks the caller or drops the
+     * screenshot depending on screenshot.overflowPolicy
+     */
+    private static ThreadPoolExecutor createWriter() {
+        RejectedExecutionHandler overflow = (task, executor) -> {
+            if (DROP_WHEN_FULL || executor.isShutdown()) {
+                throw new RejectedExecutionException("Screenshot queue full");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while queueing screenshot", e);
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), task -> {
+                Thread thread = new Thread(task, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            }, overflow);
+        return executor;
+    }
+
+    private static void createDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            LogUtils.error("Failed to create screenshot directory {}: {}", directory, e.getMessage());
         }
     }
 }
@@ -0,0 +1,221 @@
+package com.parabank.apisteps;
+
+import io.cucumber.java.en.*;
+import org.testng.Assert;
+import com.parabank.load.VirtualUser;
+import com.parabank.utils.LogUtils;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Accounts feature over ParaBank's JSON banking services.
+ * Steps assert the business outcome (accounts, balances, transactions) instead of page rendering; the
+ * confirmation texts of the pages are mapped to the outcome they confirm.
+ */
+public class ApiAccountsSteps {
+    /**
+     * Confirmation texts of the pages (as written in the features) and the wording of the service message
+     * confirming the same outcome. Texts not listed must appear in the service message as they are.
+     */
+    private static final Map<String, String> SERVICE_CONFIRMATIONS = Map.of(
+        // transfer.htm shows "Transfer Complete!"; services/bank/transfer answers "Successfully transferred $..."
+        "Transfer Complete", "Successfully transferred"
+    );
+
+    private long customerId;
+    private List<Map<String, Object>> accounts;
+    private String accountType = "CHECKING";
+    private Long fromAccountId;
+    private Long toAccountId;
+    private BigDecimal amount;
+    private Map<String, Object> createdAccount;
+    private BigDecimal fromBalanceBefore;
+    private BigDecimal toBalanceBefore;
+    private String transferMessage;
+    private Map<String, Object> account;
+    private List<Map<String, Object>> transactions;
+
+    @Given("user is logged in with username {string} and password {string}")
+    public void userIsLoggedIn(String username, String password) {
+        // Under load every virtual user stands in for the demo customer with its own data
+        Optional<VirtualUser> virtualUser = VirtualUser.current();
+        if (virtualUser.isPresent()) {
+            username = virtualUser.get().getUsername();
+            password = virtualUser.get().getPassword();
+        }
+        customerId = id(ApiHooks.client().customer(username, password));
+        LogUtils.info("User {} is customer {}", username, customerId);
+    }
+
+    @When("user navigates to accounts overview")
+    public void userNavigatesToAccountsOverview() {
+        loadAccounts();
+    }
+
+    @Given("user is on accounts overview page")
+    public void userIsOnAccountsOverviewPage() {
+        loadAccounts();
+    }
+
+    @Then("user should see list of all accounts")
+    public void userShouldSeeListOfAccounts() {
+        Assert.assertFalse(accounts.isEmpty(), "Customer " + customerId + " has no accounts");
+        LogUtils.info("{} accounts listed", accounts.size());
+    }
+
+    @Then("each account should display account number and balance")
+    public void eachAccountShouldDisplayDetails() {
+        for (Map<String, Object> listed : accounts) {
+            Assert.assertNotNull(listed.get("id"), "Account without number: " + listed);
+            Assert.assertNotNull(listed.get("balance"), "Account without balance: " + listed);
+        }
+        LogUtils.info("Every account has a number and a balance");
+    }
+
+    @When("user clicks on {string} button")
+    public void userClicksButton(String buttonText) {
+        // Navigation only; the service call is made by the submitting step
+        LogUtils.info("Clicked on {} button", buttonText);
+    }
+
+    @When("user selects account type as {string}")
+    public void userSelectsAccountType(String accountType) {
+        this.accountType = accountType.toUpperCase();
+        LogUtils.info("Selected account type: {}", accountType);
+    }
+
+    @When("user selects account from dropdown")
+    public void userSelectsAccountFromDropdown() {
+        fromAccountId = id(firstAccounts(1).get(0));
+        LogUtils.info("Selected account {}", fromAccountId);
+    }
+
+    @When("user clicks create account button")
+    public void userClicksCreateAccountButton() {
+        createdAccount = ApiHooks.client().createAccount(customerId, accountType, fromAccountId);
+        LogUtils.info("Opened account {}", createdAccount.get("id"));
+    }
+
+    @Then("new account should be created successfully")
+    public void newAccountShouldBeCreatedSuccessfully() {
+        long newAccountId = id(createdAccount);
+        Assert.assertEquals(createdAccount.get("type"), accountType, "Wrong type for account " + newAccountId);
+        loadAccounts();
+        Assert.assertTrue(accounts.stream().anyMatch(listed -> id(listed) == newAccountId),
+            "Account " + newAccountId + " not in the customer's accounts");
+        LogUtils.info("New account {} created successfully", newAccountId);
+    }
+
+    @Then("confirmation message should be displayed")
+    public void confirmationMessageShouldBeDisplayed() {
+        // The page confirms with the new account's number; the service returns the account itself
+        Object newAccountId = createdAccount.get("id");
+        Assert.assertNotNull(newAccountId, "Service returned no account number: " + createdAccount);
+        Assert.assertNotEquals(id(createdAccount), (long) fromAccountId, "Service returned the funding account");
+        Assert.assertEquals(createdAccount.get("type"), accountType, "Service returned the wrong account type");
+        Assert.assertNotNull(createdAccount.get("balance"), "Service returned no balance for " + newAccountId);
+        LogUtils.info("Account {} ({}) opened", newAccountId, createdAccount.get("type"));
+    }
+
+    @Given("user has multiple accounts")
+    public void userHasMultipleAccounts() {
+        firstAccounts(2);
+        LogUtils.info("User has {} accounts", accounts.size());
+    }
+
+    @When("user navigates to transfer funds page")
+    public void userNavigatesToTransferFundsPage() {
+        LogUtils.info("Navigated to transfer funds page");
+    }
+
+    @When("user selects source account")
+    public void userSelectsSourceAccount() {
+        fromAccountId = id(firstAccounts(1).get(0));
+        LogUtils.info("Selected source account {}", fromAccountId);
+    }
+
+    @When("user selects destination account")
+    public void userSelectsDestinationAccount() {
+        toAccountId = id(firstAccounts(2).get(1));
+        LogUtils.info("Selected destination account {}", toAccountId);
+    }
+
+    @When("user enters amount {string}")
+    public void userEntersAmount(String amount) {
+        this.amount = new BigDecimal(amount);
+        LogUtils.info("Entered transfer amount: {}", amount);
+    }
+
+    @When("user clicks transfer button")
+    public void userClicksTransferButton() {
+        fromBalanceBefore = balance(fromAccountId);
+        toBalanceBefore = balance(toAccountId);
+        transferMessage = ApiHooks.client().transfer(fromAccountId, toAccountId, amount);
+        LogUtils.info("Transfer: {}", transferMessage);
+    }
+
+    @Then("transfer should be successful")
+    public void transferShouldBeSuccessful() {
+        // Parallel scenarios may move money too, so only the direction of each change is certain
+        Assert.assertTrue(balance(fromAccountId).compareTo(fromBalanceBefore) < 0,
+            "Balance of source account " + fromAccountId + " did not decrease");
+        Assert.assertTrue(balance(toAccountId).compareTo(toBalanceBefore) > 0,
+            "Balance of destination account " + toAccountId + " did not increase");
+        LogUtils.info("Transfer was successful");
+    }
+
+    @Then("confirmation message should contain {string}")
+    public void confirmationMessageShouldContain(String expectedText) {
+        Assert.assertNotNull(transferMessage, "No transfer was made");
+        String serviceText = SERVICE_CONFIRMATIONS.getOrDefault(expectedText, expectedText);
+        Assert.assertTrue(transferMessage.contains(serviceText),
+            "Confirmation does not contain: " + serviceText + " (page text " + expectedText + "): " + transferMessage);
+        LogUtils.info("Confirmation message contains: {}", expectedText);
+    }
+
+    @When("user clicks on first account")
+    public void userClicksOnFirstAccount() {
+        long accountId = id(firstAccounts(1).get(0));
+        account = ApiHooks.client().account(accountId);
+        transactions = ApiHooks.client().transactions(accountId);
+        LogUtils.info("Opened account {}", accountId);
+    }
+
+    @Then("user should see detailed account information")
+    public void userShouldSeeDetailedAccountInfo() {
+        Assert.assertNotNull(account.get("id"), "Account number missing");
+        Assert.assertNotNull(account.get("type"), "Account type missing");
+        Assert.assertNotNull(account.get("balance"), "Balance missing");
+        LogUtils.info("Account {} ({}) balance {}", account.get("id"), account.get("type"), account.get("balance"));
+    }
+
+    @Then("transactions should be listed")
+    public void transactionsShouldBeListed() {
+        Assert.assertNotNull(transactions, "Transactions not loaded");
+        LogUtils.info("{} transactions listed", transactions.size());
+    }
+
+    private void loadAccounts() {
+        accounts = ApiHooks.client().accounts(customerId);
+        LogUtils.info("Loaded {} accounts", accounts.size());
+    }
+
+    private List<Map<String, Object>> firstAccounts(int count) {
+        if (accounts == null) {
+            loadAccounts();
+        }
+        Assert.assertTrue(accounts.size() >= count, "Customer " + customerId + " needs " + count + " accounts, has "
+            + accounts.size());
+        return accounts;
+    }
+
+    private static BigDecimal balance(long accountId) {
+        return new BigDecimal(ApiHooks.client().account(accountId).get("balance").toString());
+    }
+
+    private static long id(Map<String, Object> entity) {
+        return ((Number) entity.get("id")).longValue();
+    }
+}
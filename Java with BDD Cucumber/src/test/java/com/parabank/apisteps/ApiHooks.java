@@ -0,0 +1,64 @@
+package com.parabank.apisteps;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
+import io.cucumber.java.Scenario;
+import com.parabank.api.ParaBankClient;
+import com.parabank.api.SessionCache;
+import com.parabank.config.ConfigReader;
+import com.parabank.replay.RecordReplayProxy;
+import com.parabank.standin.StandInServer;
+import com.parabank.utils.LogUtils;
+import com.parabank.utils.ScenarioContext;
+import com.parabank.utils.ScenarioLogAppender;
+
+/**
+ * Hooks of the API execution layer: no browser, one {@link ParaBankClient} per scenario
+ */
+public class ApiHooks {
+    private static final String CLIENT_KEY = "apiClient";
+
+    @BeforeAll
+    public static void setUpSuite() {
+        LogUtils.info("Configuration (API layer): {}", ConfigReader.get());
+        if (ConfigReader.get().standIn().isEnabled()) {
+            StandInServer.start();
+        }
+        RecordReplayProxy.start();
+    }
+
+    @Before
+    public void setUp(Scenario scenario) {
+        String scenarioId = LogUtils.scenarioLogId(scenario.getUri().getPath(), scenario.getLine(), scenario.getName());
+        LogUtils.startScenario(scenarioId);
+        ScenarioContext.setScenarioContext("scenarioTags", scenario.getSourceTagNames());
+        ScenarioContext.setScenarioContext(CLIENT_KEY, new ParaBankClient());
+        RecordReplayProxy.startScenario(null, scenarioId);
+    }
+
+    @After
+    public void tearDown(Scenario scenario) {
+        RecordReplayProxy.endScenario();
+        ScenarioContext.clearScenarioContext();
+        LogUtils.endScenario(scenario.getName(), scenario.isFailed());
+    }
+
+    @AfterAll
+    public static void tearDownSuite() {
+        SessionCache.logStatistics();
+        ScenarioLogAppender.logStatistics();
+        RecordReplayProxy.stop();
+        StandInServer.stop();
+    }
+
+    /**
+     * Get the current scenario's client, shared by the step classes
+     *
+     * @return HTTP client
+     */
+    static ParaBankClient client() {
+        return (ParaBankClient) ScenarioContext.getScenarioContext(CLIENT_KEY);
+    }
+}
@@ -0,0 +1,89 @@
+package com.parabank.apisteps;
+
+import io.cucumber.java.en.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import com.parabank.api.ParaBankClient;
+import com.parabank.utils.LogUtils;
+import java.util.List;
+
+/**
+ * Login feature over HTTP: the login form is posted directly, pages are checked in the HTML returned.
+ * The error message steps also serve the registration feature, as in the browser glue.
+ */
+public class ApiLoginSteps {
+    private String username = "";
+    private String password = "";
+
+    @Given("user is on ParaBank login page")
+    public void userIsOnLoginPage() {
+        Response page = ApiHooks.client().openPage("index.htm");
+        Assert.assertEquals(page.getStatusCode(), 200, "Login page not served");
+        LogUtils.info("Login page loaded");
+    }
+
+    @When("user enters username {string}")
+    public void userEntersUsername(String username) {
+        this.username = username;
+        LogUtils.info("Username: {}", username);
+    }
+
+    @When("user enters password {string}")
+    public void userEntersPassword(String password) {
+        this.password = password;
+        LogUtils.info("Password set");
+    }
+
+    @When("user leaves username empty")
+    public void userLeavesUsernameEmpty() {
+        username = "";
+        LogUtils.info("Username left empty");
+    }
+
+    @When("user leaves password empty")
+    public void userLeavesPasswordEmpty() {
+        password = "";
+        LogUtils.info("Password left empty");
+    }
+
+    @When("user clicks login button")
+    public void userClicksLoginButton() {
+        Response response = ApiHooks.client().login(username, password);
+        LogUtils.info("Login form posted: HTTP {}", response.getStatusCode());
+    }
+
+    @Then("user should be navigated to dashboard page")
+    public void userShouldBeNavigatedToDashboard() {
+        ParaBankClient client = ApiHooks.client();
+        String location = client.getLastResponse().getHeader("Location");
+        Assert.assertTrue(location != null && location.contains("overview"),
+            "Login did not redirect to the overview. Location: " + location);
+        Response overview = client.openPage("overview.htm");
+        Assert.assertEquals(overview.getStatusCode(), 200, "Overview not served for the new session");
+        LogUtils.info("Redirected to {}", location);
+    }
+
+    @Then("user should see welcome message {string}")
+    public void userShouldSeeWelcomeMessage(String expectedMessage) {
+        List<String> headings = ApiHooks.client().getLastResponse().htmlPath()
+            .getList("**.findAll { it.name() == 'h2' }", String.class);
+        Assert.assertTrue(headings.stream().anyMatch(heading -> heading.contains(expectedMessage)),
+            "Welcome message not found. Expected: " + expectedMessage + ", headings: " + headings);
+        LogUtils.info("Welcome message verified: {}", expectedMessage);
+    }
+
+    @Then("error message should be displayed {string}")
+    public void errorMessageShouldBeDisplayed(String expectedError) {
+        List<String> errors = ParaBankClient.errors(ApiHooks.client().getLastResponse());
+        Assert.assertTrue(errors.stream().anyMatch(error -> error.contains(expectedError)),
+            "Expected error: " + expectedError + ", Actual: " + errors);
+        LogUtils.info("Error message verified: {}", errors);
+    }
+
+    @Then("error message should be displayed")
+    public void errorMessageShouldBeDisplayedGeneric() {
+        List<String> errors = ParaBankClient.errors(ApiHooks.client().getLastResponse());
+        Assert.assertFalse(errors.isEmpty(), "Error message not displayed");
+        LogUtils.info("Error message is displayed: {}", errors);
+    }
+}
@@ -0,0 +1,133 @@
+package com.parabank.apisteps;
+
+import io.cucumber.java.en.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import com.parabank.api.ParaBankClient;
+import com.parabank.utils.LogUtils;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registration feature over HTTP: fields are collected and the registration form is posted once
+ */
+public class ApiRegistrationSteps {
+    private final Map<String, String> fields = new LinkedHashMap<>();
+
+    @Given("user is on ParaBank registration page")
+    public void userIsOnRegistrationPage() {
+        Response page = ApiHooks.client().openPage("register.htm");
+        Assert.assertEquals(page.getStatusCode(), 200, "Registration page not served");
+        LogUtils.info("Registration page loaded");
+    }
+
+    @When("user fills first name {string}")
+    public void userFillsFirstName(String firstName) {
+        fill("customer.firstName", firstName);
+    }
+
+    @When("user fills last name {string}")
+    public void userFillsLastName(String lastName) {
+        fill("customer.lastName", lastName);
+    }
+
+    @When("user fills address {string}")
+    public void userFillsAddress(String address) {
+        fill("customer.address.street", address);
+    }
+
+    @When("user fills city {string}")
+    public void userFillsCity(String city) {
+        fill("customer.address.city", city);
+    }
+
+    @When("user fills state {string}")
+    public void userFillsState(String state) {
+        fill("customer.address.state", state);
+    }
+
+    @When("user fills zip code {string}")
+    public void userFillsZipCode(String zipCode) {
+        fill("customer.address.zipCode", zipCode);
+    }
+
+    @When("user fills phone number {string}")
+    public void userFillsPhoneNumber(String phone) {
+        fill("customer.phoneNumber", phone);
+    }
+
+    @When("user fills SSN {string}")
+    public void userFillsSSN(String ssn) {
+        fill("customer.ssn", ssn);
+    }
+
+    @When("user fills username {string}")
+    public void userFillsUsername(String username) {
+        fill("customer.username", username);
+    }
+
+    @When("user fills password {string}")
+    public void userFillsPassword(String password) {
+        fill("customer.password", password);
+    }
+
+    @When("user confirms password {string}")
+    public void userConfirmsPassword(String password) {
+        fill("customer.repeatPassword", password);
+    }
+
+    @When("user fills registration form with valid data")
+    public void userFillsRegistrationFormWithValidData() {
+        // Same data as the browser glue
+        fill("customer.firstName", "John");
+        fill("customer.lastName", "Doe");
+        fill("customer.address.street", "123 Main Street");
+        fill("customer.address.city", "New York");
+        fill("customer.address.state", "NY");
+        fill("customer.address.zipCode", "10001");
+        fill("customer.phoneNumber", "2125551234");
+        fill("customer.ssn", "123456789");
+        fill("customer.username", "johndoe");
+    }
+
+    @When("user clicks register button")
+    public void userClicksRegisterButton() {
+        Response response = ApiHooks.client().submitForm("register.htm", fields);
+        LogUtils.info("Registration form posted: HTTP {}", response.getStatusCode());
+    }
+
+    @When("user clicks register button without filling any field")
+    public void userClicksRegisterWithoutFillingForm() {
+        fields.clear();
+        userClicksRegisterButton();
+    }
+
+    @Then("registration should be successful")
+    public void registrationShouldBeSuccessful() {
+        Response response = ApiHooks.client().getLastResponse();
+        List<String> errors = ParaBankClient.errors(response);
+        Assert.assertTrue(response.getStatusCode() == 200 && errors.isEmpty(),
+            "Registration failed: HTTP " + response.getStatusCode() + ", errors " + errors);
+        LogUtils.info("Registration was successful");
+    }
+
+    @Then("user should see {string}")
+    public void userShouldSee(String expectedMessage) {
+        String text = ApiHooks.client().getLastResponse().htmlPath().getString("html.body");
+        Assert.assertTrue(text.contains(expectedMessage), "Expected message not found: " + expectedMessage);
+        LogUtils.info("Message verified: {}", expectedMessage);
+    }
+
+    @Then("error messages should be displayed for required fields")
+    public void errorMessagesDisplayedForRequiredFields() {
+        List<String> errors = ParaBankClient.errors(ApiHooks.client().getLastResponse());
+        Assert.assertFalse(errors.isEmpty(), "Error messages not displayed for required fields");
+        LogUtils.info("{} required field errors displayed", errors.size());
+    }
+
+    private void fill(String field, String value) {
+        fields.put(field, value);
+        LogUtils.info("Filled {}", field);
+    }
+}
@@ -0,0 +1,115 @@
+package com.parabank.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import com.parabank.base.DriverFactory;
+import com.parabank.base.DriverProfile;
+import com.parabank.config.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Browser startup and page load time of the regular and the lean driver profile, against the launch path
+ * this factory replaced.
+ * <ul>
+ *     <li>{@code baselineStartup}: the previous launch per scenario: resolve the driver binary with
+ *         WebDriverManager, start the browser with default options plus headless, {@code maximize()}, quit.
+ *         It ignores the profile, so both rows measure the same thing</li>
+ *     <li>{@code startup}: launch a browser (driver binary already resolved) and quit it</li>
+ *     <li>{@code pageLoad}: load {@code baseUrl + index.htm} in an already running browser; the page
+ *         load strategy decides when {@code get} returns</li>
+ * </ul>
+ * Both profiles run headless so they differ only in page load strategy and blocked content. Needs the
+ * configured browser and a reachable baseUrl (e.g. -DbaseUrl=http://localhost:8080/parabank/). Run with
+ * {@code mvn test -Pbenchmark -Dbenchmark=DriverStartupBenchmark -Dbenchmark.args=}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=info", "-Dlog.consoleLevel=off", "-Dlog.path=target/benchmark-logs",
+    "-DheadlessMode=true"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class DriverStartupBenchmark {
+
+    @Param({"STANDARD", "LEAN"})
+    public DriverProfile profile;
+
+    private final String browserName = ConfigReader.get().getBrowser().name().toLowerCase();
+
+    @Benchmark
+    public void baselineStartup() {
+        WebDriver driver;
+        switch (browserName) {
+            case "firefox":
+                WebDriverManager.firefoxdriver().setup();
+                driver = new FirefoxDriver(new FirefoxOptions().addArguments("-headless"));
+                break;
+            case "edge":
+                WebDriverManager.edgedriver().setup();
+                driver = new EdgeDriver(new EdgeOptions().addArguments("--headless=new"));
+                break;
+            default:
+                WebDriverManager.chromedriver().setup();
+                driver = new ChromeDriver(new ChromeOptions().addArguments("--headless=new"));
+        }
+        try {
+            driver.manage().window().maximize();
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public void startup() {
+        DriverFactory.quit(DriverFactory.createDriver(browserName, profile));
+    }
+
+    @Benchmark
+    public void pageLoad(RunningBrowser browser) {
+        browser.driver.get(browser.pageUrl);
+    }
+
+    /**
+     * One browser of the benchmarked profile, parked on about:blank before every load
+     */
+    @State(Scope.Benchmark)
+    public static class RunningBrowser {
+        private final String pageUrl = ConfigReader.get().getBaseUrl() + "index.htm";
+        private WebDriver driver;
+
+        @Setup(Level.Trial)
+        public void launch(DriverStartupBenchmark benchmark) {
+            driver = DriverFactory.createDriver(benchmark.browserName, benchmark.profile);
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+        }
+
+        @TearDown(Level.Trial)
+        public void quit() {
+            DriverFactory.quit(driver);
+        }
+    }
+}
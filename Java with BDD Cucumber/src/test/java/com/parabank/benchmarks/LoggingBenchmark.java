@@ -0,0 +1,105 @@
+package com.parabank.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.parabank.utils.LogUtils;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost and allocation of LogUtils with 4 threads logging concurrently, as in a parallel run.
+ * <ul>
+ *     <li>{@code configuration=async}: the shipped log4j2.xml (asynchronous, garbage-free)</li>
+ *     <li>{@code configuration=sync}: the previous synchronous configuration (benchmark/log4j2-sync.xml)</li>
+ * </ul>
+ * The *Info benchmarks log at an enabled level (written to target/benchmark-logs), the *Debug ones at
+ * a disabled level. {@code parameterizedInfoInScenario} also goes through the per-scenario buffer of the
+ * ScenarioLog appender, as every message logged during a scenario does. Run with {@code mvn test -Pbenchmark -Dbenchmark=LoggingBenchmark}; the gc profiler
+ * reports allocation per call as gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=info", "-Dlog.consoleLevel=off", "-Dlog.path=target/benchmark-logs"})
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"async", "sync"})
+    public String configuration;
+
+    /**
+     * Per-thread arguments, so threads do not share the logged values
+     */
+    @State(Scope.Thread)
+    public static class StepData {
+        public String username = "john" + Thread.currentThread().getId();
+        public String amount = "100.00";
+    }
+
+    /**
+     * Per-thread scenario, so the thread's events are buffered by the ScenarioLog appender
+     */
+    @State(Scope.Thread)
+    public static class ScenarioData extends StepData {
+        @Setup(Level.Trial)
+        public void startScenario() {
+            LogUtils.startScenario("benchmark-" + Thread.currentThread().getId());
+        }
+
+        @TearDown(Level.Trial)
+        public void endScenario() {
+            LogUtils.endScenario("benchmark", false);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void selectConfiguration() {
+        // Every parameter combination runs in its own fork, before log4j2 is initialized
+        if (configuration.equals("sync")) {
+            System.setProperty("log4j2.configurationFile", "benchmark/log4j2-sync.xml");
+        }
+    }
+
+    @Benchmark
+    public void concatenatedInfo(StepData data) {
+        LogUtils.info("Entered username: " + data.username + ", amount: " + data.amount);
+    }
+
+    @Benchmark
+    public void parameterizedInfo(StepData data) {
+        LogUtils.info("Entered username: {}, amount: {}", data.username, data.amount);
+    }
+
+    @Benchmark
+    public void parameterizedInfoInScenario(ScenarioData data) {
+        LogUtils.info("Entered username: {}, amount: {}", data.username, data.amount);
+    }
+
+    @Benchmark
+    public void concatenatedDebug(StepData data) {
+        LogUtils.debug("Entered username: " + data.username + ", amount: " + data.amount);
+    }
+
+    @Benchmark
+    public void parameterizedDebug(StepData data) {
+        LogUtils.debug("Entered username: {}, amount: {}", data.username, data.amount);
+    }
+
+    @Benchmark
+    public void supplierDebug(StepData data) {
+        LogUtils.debug(() -> "Entered username: " + data.username + ", amount: " + data.amount);
+    }
+}
@@ -2,34 +2,116 @@ package com.parabank.hooks;
 
 import io.cucumber.java.Before;
 import io.cucumber.java.After;
-import org.openqa.selenium.WebDriver;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+import io.cucumber.java.Scenario;
+import com.parabank.api.SessionCache;
+import com.parabank.base.BaseClass;
 import com.parabank.base.DriverFactory;
+import com.parabank.base.DriverPool;
+import com.parabank.base.DriverProfile;
+import com.parabank.base.WaitEngine;
+import com.parabank.base.WireCallRecorder;
+import com.parabank.devtools.NetworkRecorder;
+import com.parabank.devtools.PageEvents;
+import com.parabank.devtools.ResourceBlocker;
 import com.parabank.config.ConfigReader;
+import com.parabank.replay.RecordReplayProxy;
+import com.parabank.standin.StandInServer;
+import com.parabank.utils.ExecutionContext;
 import com.parabank.utils.LogUtils;
+import com.parabank.utils.ScenarioContext;
+import com.parabank.utils.ScenarioLogAppender;
+import com.parabank.utils.ScreenshotUtils;
 
 /**
  * Cucumber Hooks for test setup and teardown
  */
 public class Hooks {
 
+    /**
+     * Log the configuration the suite runs with
+     */
+    @BeforeAll
+    public static void setUpSuite() {
+        LogUtils.info("Configuration: {}", ConfigReader.get());
+        if (ConfigReader.get().standIn().isEnabled()) {
+            StandInServer.start();
+        }
+        RecordReplayProxy.start();
+    }
+
     /**
      * Setup method before each scenario
+     *
+     * @param scenario Scenario about to run
      */
     @Before
-    public void setUp() {
-        String browser = ConfigReader.getProperty("browser", "chrome");
-        WebDriver driver = DriverFactory.initializeDriver(browser);
-        LogUtils.info("Browser initialized: " + browser);
+    public void setUp(Scenario scenario) {
+        String scenarioId = LogUtils.scenarioLogId(scenario.getUri().getPath(), scenario.getLine(), scenario.getName());
+        LogUtils.startScenario(scenarioId);
+        ScenarioContext.setScenarioContext("scenarioTags", scenario.getSourceTagNames());
+        String browser = DriverFactory.browserForScenario(scenario.getSourceTagNames());
+        DriverProfile profile = DriverProfile.forScenario(scenario.getSourceTagNames());
+        if (DriverPool.isEnabled()) {
+            DriverPool.lease(browser, profile);
+        } else {
+            DriverFactory.initializeDriver(browser, profile);
+        }
+        LogUtils.info("Browser initialized: {} ({}) on {}", browser, profile, Thread.currentThread().getName());
+        // Time spent queueing for a browser is not the scenario's to wait away
+        WaitEngine.startScenario();
+        ResourceBlocker.startScenario(DriverFactory.getDriver());
+        NetworkRecorder.startScenario(DriverFactory.getDriver(), scenarioId);
+        RecordReplayProxy.startScenario(DriverFactory.getDriver(), scenarioId);
         LogUtils.info("=".repeat(50));
     }
 
     /**
      * Teardown method after each scenario
+     *
+     * @param scenario Finished scenario
      */
     @After
-    public void tearDown() {
+    public void tearDown(Scenario scenario) {
         LogUtils.info("=".repeat(50));
-        LogUtils.info("Closing browser");
-        DriverFactory.quitDriver();
+        if (scenario.isFailed() && ConfigReader.get().screenshots().isOnFailure()) {
+            ScreenshotUtils.captureScreenshot(DriverFactory.getDriver(), scenario.getName(), ExecutionContext.getFailedStep());
+        }
+        ResourceBlocker.endScenario(DriverFactory.getDriver(), scenario.getName());
+        NetworkRecorder.endScenario(DriverFactory.getDriver());
+        RecordReplayProxy.endScenario();
+        if (DriverPool.isEnabled()) {
+            LogUtils.info("Returning browser to pool");
+            DriverPool.release(scenario.isFailed());
+        } else {
+            LogUtils.info("Closing browser");
+            DriverFactory.quitDriver();
+        }
+        // Worker threads are reused across scenarios, so drop anything this one stored
+        WaitEngine.endScenario();
+        ScenarioContext.clearScenarioContext();
+        LogUtils.endScenario(scenario.getName(), scenario.isFailed());
+    }
+
+    /**
+     * Shut down shared resources once all scenarios have finished
+     */
+    @AfterAll
+    public static void tearDownSuite() {
+        if (DriverPool.isEnabled()) {
+            DriverPool.shutdown();
+        }
+        SessionCache.logStatistics();
+        BaseClass.logWaitSavings();
+        WaitEngine.writeStatistics();
+        PageEvents.logStatistics();
+        ScenarioLogAppender.logStatistics();
+        WireCallRecorder.writeReports();
+        ResourceBlocker.writeReports();
+        NetworkRecorder.writeSummary();
+        RecordReplayProxy.stop();
+        StandInServer.stop();
+        ScreenshotUtils.flush();
     }
 }
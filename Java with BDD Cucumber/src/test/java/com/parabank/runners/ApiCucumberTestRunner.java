@@ -0,0 +1,33 @@
+package com.parabank.runners;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
+
+/**
+ * TestNG Cucumber Runner executing the same features over HTTP, without a browser (glue in
+ * com.parabank.apisteps). Run with mvn test -Papi. Scenarios tagged @uiOnly check rendering only
+ * and are left to the browser run.
+ */
+@CucumberOptions(
+    features = "src/test/resources/features",
+    glue = {"com.parabank.apisteps"},
+    tags = "not @uiOnly",
+    plugin = {
+        "pretty",
+        "json:target/cucumber-reports/api-cucumber.json",
+        "html:target/cucumber-reports/api-cucumber.html",
+        "com.parabank.plugins.StepTimingPlugin:target/step-timings",
+        "com.parabank.plugins.ExecutionContextPlugin",
+        "com.parabank.plugins.FlightRecorderPlugin"
+    },
+    monochrome = true
+)
+public class ApiCucumberTestRunner extends AbstractTestNGCucumberTests {
+
+    @DataProvider(parallel = true)
+    @Override
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+}
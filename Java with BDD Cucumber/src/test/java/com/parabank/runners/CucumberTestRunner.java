@@ -5,7 +5,9 @@ import io.cucumber.testng.CucumberOptions;
 import org.testng.annotations.DataProvider;
 
 /**
- * TestNG Cucumber Runner for all features
+ * TestNG Cucumber Runner for all features.
+ * Scenarios are executed in parallel; the worker count is TestNG's data-provider-thread-count
+ * (see testng.xml, overridable with -Dthreads=N).
  */
 @CucumberOptions(
     features = "src/test/resources/features",
@@ -13,14 +15,18 @@ import org.testng.annotations.DataProvider;
     plugin = {
         "pretty",
         "json:target/cucumber-reports/cucumber.json",
-        "html:target/cucumber-reports/cucumber.html"
+        "html:target/cucumber-reports/cucumber.html",
+        "com.parabank.plugins.StepTimingPlugin:target/step-timings",
+        "com.parabank.plugins.ExecutionContextPlugin",
+        "com.parabank.plugins.FlightRecorderPlugin",
+        "com.parabank.plugins.DriverResolutionPlugin"
     },
-    monochrome = true,
-    stepNotifications = true
+    monochrome = true
 )
 public class CucumberTestRunner extends AbstractTestNGCucumberTests {
 
-    @DataProvider(parallel = false)
+    @DataProvider(parallel = true)
+    @Override
     public Object[][] scenarios() {
         return super.scenarios();
     }
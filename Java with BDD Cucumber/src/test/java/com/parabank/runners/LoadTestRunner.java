@@ -0,0 +1,161 @@
+package com.parabank.runners;
+
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
+import com.parabank.load.VirtualUser;
+import com.parabank.utils.LogUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load mode: load.users virtual users run the scenarios of load.feature over HTTP with the API glue
+ * (com.parabank.apisteps), each on its own thread, in a loop until load.duration has passed or, with a zero
+ * duration, for load.iterations passes. Users start evenly spaced over load.rampUp. Throughput and latency
+ * percentiles per window are reported by {@link com.parabank.plugins.LoadStatsPlugin} in target/load.
+ * Every user first registers its own customer ({@link VirtualUser}), so users never share account data.
+ * The run fails when more than load.maxErrorRate percent of the scenarios fail.
+ * <p>
+ * Run with mvn test -Pload -Dprofile=load, against the stand-in with -DstandIn.enabled=true.
+ */
+@CucumberOptions(
+    features = "src/test/resources/features",
+    glue = {"com.parabank.apisteps"},
+    tags = "not @uiOnly",
+    plugin = {
+        "com.parabank.plugins.LoadStatsPlugin:target/load",
+        "com.parabank.plugins.ExecutionContextPlugin"
+    },
+    monochrome = true
+)
+public class LoadTestRunner {
+    private final AtomicLong scenarios = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @Test(description = "Run the load.feature scenarios with concurrent virtual users")
+    public void runLoad() throws InterruptedException {
+        Config.Load load = ConfigReader.get().load();
+        Assert.assertTrue(load.getUsers() > 0, "load.users must be at least 1");
+        TestNGCucumberRunner runner = new TestNGCucumberRunner(getClass());
+        try {
+            List<Pickle> pickles = pickles(runner, load.getFeature());
+            Assert.assertFalse(pickles.isEmpty(), "No scenarios found for load.feature=" + load.getFeature());
+            LogUtils.info("Load: {} users, ramp-up {}s, {}, {} scenarios of {}", load.getUsers(),
+                load.getRampUp().getSeconds(), load.getDuration().isZero()
+                    ? load.getIterations() + " iterations" : load.getDuration().getSeconds() + "s",
+                pickles.size(), load.getFeature().isEmpty() ? "all features" : load.getFeature());
+
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            long startNanos = System.nanoTime();
+            long deadline = load.getDuration().isZero() ? Long.MAX_VALUE : startNanos + load.getDuration().toNanos();
+            List<Thread> users = new ArrayList<>();
+            for (int user = 0; user < load.getUsers(); user++) {
+                long startAt = startNanos + load.getRampUp().toNanos() * user / load.getUsers();
+                int number = user + 1;
+                Thread thread = new Thread(() -> runUser(runner, pickles, load, runId, number, startAt, deadline),
+                    "virtual-user-" + (user + 1));
+                users.add(thread);
+                thread.start();
+            }
+            for (Thread thread : users) {
+                thread.join();
+            }
+            LogUtils.info("Load finished: {} scenarios, {} failed, in {}s", scenarios.get(), failures.get(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos));
+            double errorRate = scenarios.get() == 0 ? 0 : failures.get() * 100.0 / scenarios.get();
+            Assert.assertTrue(errorRate <= load.getMaxErrorRate(), String.format(Locale.ROOT,
+                "Error rate %.2f%% (%d of %d scenarios) exceeds load.maxErrorRate=%s%%", errorRate, failures.get(),
+                scenarios.get(), load.getMaxErrorRate()));
+        } finally {
+            // Runs the AfterAll hooks and lets LoadStatsPlugin write its reports
+            runner.finish();
+        }
+    }
+
+    private void runUser(TestNGCucumberRunner runner, List<Pickle> pickles, Config.Load load, String runId,
+                         int number, long startAt, long deadline) {
+        if (!sleepUntil(startAt) || startAt >= deadline) {
+            return;
+        }
+        VirtualUser user;
+        try {
+            user = VirtualUser.register(runId, number);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LogUtils.error("Virtual user {} could not be set up: {}", number, e.getMessage());
+            return;
+        }
+        user.attach();
+        try {
+            runIterations(runner, pickles, load, user, deadline);
+        } finally {
+            VirtualUser.detach();
+        }
+    }
+
+    private void runIterations(TestNGCucumberRunner runner, List<Pickle> pickles, Config.Load load, VirtualUser user,
+                               long deadline) {
+        for (int iteration = 0; load.getDuration().isZero() ? iteration < load.getIterations()
+                : System.nanoTime() < deadline; iteration++) {
+            try {
+                user.topUp();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                LogUtils.error("Could not top up {}: {}", user.getUsername(), e.getMessage());
+                return;
+            }
+            for (Pickle pickle : pickles) {
+                if (System.nanoTime() >= deadline) {
+                    return;
+                }
+                try {
+                    runner.runScenario(pickle);
+                } catch (Throwable failure) {
+                    // Counted per window by LoadStatsPlugin; the user goes on with the next scenario
+                    failures.incrementAndGet();
+                    LogUtils.debug("Scenario '{}' failed under load: {}", pickle.getName(), failure.getMessage());
+                }
+                scenarios.incrementAndGet();
+                if (!load.getThinkTime().isZero() && !sleepUntil(System.nanoTime() + load.getThinkTime().toNanos())) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scenarios of the feature files whose path ends with the given name, all scenarios for an empty name
+     */
+    private static List<Pickle> pickles(TestNGCucumberRunner runner, String feature) {
+        List<Pickle> pickles = new ArrayList<>();
+        for (Object[] scenario : runner.provideScenarios()) {
+            Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+            if (feature.isEmpty() || pickle.getUri().getPath().endsWith(feature)) {
+                pickles.add(pickle);
+            }
+        }
+        return pickles;
+    }
+
+    private static boolean sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -4,9 +4,13 @@ import io.cucumber.java.en.*;
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import com.parabank.base.DriverFactory;
+import com.parabank.config.Config;
+import com.parabank.config.ConfigReader;
 import com.parabank.pages.LoginPage;
 import com.parabank.pages.DashboardPage;
 import com.parabank.utils.LogUtils;
+import com.parabank.utils.ScenarioContext;
+import java.util.Collection;
 
 /**
  * Step definitions for Accounts feature
@@ -20,10 +24,30 @@ public class AccountsSteps {
     public void userIsLoggedIn(String username, String password) {
         driver = DriverFactory.getDriver();
         loginPage = new LoginPage(driver);
-        loginPage.navigateToLoginPage();
-        loginPage.login(username, password);
+        if (useApiLogin()) {
+            loginPage.loginViaApi(username, password);
+        } else {
+            loginPage.navigateToLoginPage();
+            loginPage.login(username, password);
+        }
         dashboardPage = new DashboardPage(driver);
-        LogUtils.info("User logged in with username: " + username);
+        LogUtils.info("User logged in with username: {}", username);
+    }
+
+    /**
+     * Decide how the Background login is performed.
+     * Tags @uiLogin / @apiLogin win over the loginMode config key.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean useApiLogin() {
+        Collection<String> tags = (Collection<String>) ScenarioContext.getScenarioContext("scenarioTags");
+        if (tags != null && tags.contains("@uiLogin")) {
+            return false;
+        }
+        if (tags != null && tags.contains("@apiLogin")) {
+            return true;
+        }
+        return ConfigReader.get().getLoginMode() == Config.LoginMode.API;
     }
 
     @When("user navigates to accounts overview")
@@ -56,13 +80,13 @@ public class AccountsSteps {
         if (buttonText.equalsIgnoreCase("Open New Account")) {
             dashboardPage.navigateToOpenNewAccount();
         }
-        LogUtils.info("Clicked on " + buttonText + " button");
+        LogUtils.info("Clicked on {} button", buttonText);
     }
 
     @When("user selects account type as {string}")
     public void userSelectsAccountType(String accountType) {
         dashboardPage.selectAccountType(accountType);
-        LogUtils.info("Selected account type: " + accountType);
+        LogUtils.info("Selected account type: {}", accountType);
     }
 
     @When("user selects account from dropdown")
@@ -86,7 +110,7 @@ public class AccountsSteps {
     public void confirmationMessageShouldBeDisplayed() {
         String confirmationMsg = dashboardPage.getConfirmationMessage();
         Assert.assertNotNull(confirmationMsg, "Confirmation message is null");
-        LogUtils.info("Confirmation message displayed: " + confirmationMsg);
+        LogUtils.info("Confirmation message displayed: {}", confirmationMsg);
     }
 
     @Given("user has multiple accounts")
@@ -116,7 +140,7 @@ public class AccountsSteps {
     @When("user enters amount {string}")
     public void userEntersAmount(String amount) {
         dashboardPage.enterTransferAmount(amount);
-        LogUtils.info("Entered transfer amount: " + amount);
+        LogUtils.info("Entered transfer amount: {}", amount);
     }
 
     @When("user clicks transfer button")
@@ -135,7 +159,7 @@ public class AccountsSteps {
         String confirmationMsg = dashboardPage.getConfirmationMessage();
         Assert.assertTrue(confirmationMsg.contains(expectedText), 
             "Confirmation message does not contain: " + expectedText);
-        LogUtils.info("Confirmation message contains: " + expectedText);
+        LogUtils.info("Confirmation message contains: {}", expectedText);
     }
 
     @When("user clicks on first account")
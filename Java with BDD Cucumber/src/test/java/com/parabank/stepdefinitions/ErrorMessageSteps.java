@@ -0,0 +1,46 @@
+package com.parabank.stepdefinitions;
+
+import io.cucumber.java.en.*;
+import org.testng.Assert;
+import com.parabank.pages.ErrorMessagePage;
+import com.parabank.utils.LogUtils;
+import com.parabank.utils.ScenarioContext;
+
+/**
+ * Error message steps shared by the login and registration features.
+ * They check the page the scenario opened last, registered with {@link #setCurrentPage}.
+ */
+public class ErrorMessageSteps {
+    private static final String CURRENT_PAGE = "currentPage";
+
+    /**
+     * Register the page the error message steps check
+     *
+     * @param page Page the scenario just opened
+     */
+    static void setCurrentPage(ErrorMessagePage page) {
+        ScenarioContext.setScenarioContext(CURRENT_PAGE, page);
+    }
+
+    @Then("error message should be displayed {string}")
+    public void errorMessageShouldBeDisplayed(String expectedError) {
+        ErrorMessagePage page = currentPage();
+        Assert.assertTrue(page.isErrorMessageDisplayed(), "Error message not displayed. Expected: " + expectedError);
+        String actualError = page.getErrorMessage();
+        Assert.assertTrue(actualError.contains(expectedError),
+            "Expected error: " + expectedError + ", Actual: " + actualError);
+        LogUtils.info("Error message verified: {}", actualError);
+    }
+
+    @Then("error message should be displayed")
+    public void errorMessageShouldBeDisplayedGeneric() {
+        Assert.assertTrue(currentPage().isErrorMessageDisplayed(), "Error message not displayed");
+        LogUtils.info("Error message is displayed as expected");
+    }
+
+    private static ErrorMessagePage currentPage() {
+        ErrorMessagePage page = (ErrorMessagePage) ScenarioContext.getScenarioContext(CURRENT_PAGE);
+        Assert.assertNotNull(page, "No page with error messages was opened in this scenario");
+        return page;
+    }
+}
@@ -21,13 +21,14 @@ public class LoginSteps {
         driver = DriverFactory.getDriver();
         loginPage = new LoginPage(driver);
         loginPage.navigateToLoginPage();
+        ErrorMessageSteps.setCurrentPage(loginPage);
         LogUtils.info("User navigated to login page");
     }
 
     @When("user enters username {string}")
     public void userEntersUsername(String username) {
         loginPage.enterUsername(username);
-        LogUtils.info("Entered username: " + username);
+        LogUtils.info("Entered username: {}", username);
     }
 
     @When("user enters password {string}")
@@ -48,6 +49,7 @@ public class LoginSteps {
         String currentUrl = driver.getCurrentUrl();
         Assert.assertTrue(currentUrl.contains("overview"), 
             "User not navigated to dashboard. Current URL: " + currentUrl);
+        Assert.assertTrue(loginPage.isErrorMessageAbsent(), "Login error displayed on the dashboard");
         LogUtils.info("User successfully navigated to dashboard");
     }
 
@@ -57,24 +59,7 @@ public class LoginSteps {
         String actualMessage = dashboardPage.getWelcomeMessage();
         Assert.assertTrue(actualMessage.contains(expectedMessage), 
             "Welcome message not found. Expected: " + expectedMessage + ", Actual: " + actualMessage);
-        LogUtils.info("Welcome message verified: " + actualMessage);
-    }
-
-    @Then("error message should be displayed {string}")
-    public void errorMessageShouldBeDisplayed(String expectedError) {
-        boolean isErrorDisplayed = loginPage.isErrorMessageDisplayed();
-        Assert.assertTrue(isErrorDisplayed, "Error message not displayed");
-        String actualError = loginPage.getErrorMessage();
-        Assert.assertTrue(actualError.contains(expectedError), 
-            "Expected error: " + expectedError + ", Actual: " + actualError);
-        LogUtils.info("Error message verified: " + actualError);
-    }
-
-    @Then("error message should be displayed")
-    public void errorMessageShouldBeDisplayedGeneric() {
-        boolean isErrorDisplayed = loginPage.isErrorMessageDisplayed();
-        Assert.assertTrue(isErrorDisplayed, "Error message not displayed");
-        LogUtils.info("Error message is displayed as expected");
+        LogUtils.info("Welcome message verified: {}", actualMessage);
     }
 
     @When("user leaves username empty")
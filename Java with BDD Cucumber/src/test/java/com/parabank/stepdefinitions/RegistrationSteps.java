@@ -6,6 +6,8 @@ import org.testng.Assert;
 import com.parabank.base.DriverFactory;
 import com.parabank.pages.RegistrationPage;
 import com.parabank.utils.LogUtils;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Step definitions for Registration feature
@@ -19,49 +21,50 @@ public class RegistrationSteps {
         driver = DriverFactory.getDriver();
         registrationPage = new RegistrationPage(driver);
         registrationPage.navigateToRegistrationPage();
+        ErrorMessageSteps.setCurrentPage(registrationPage);
         LogUtils.info("User navigated to registration page");
     }
 
     @When("user fills first name {string}")
     public void userFillsFirstName(String firstName) {
         registrationPage.enterFirstName(firstName);
-        LogUtils.info("Entered first name: " + firstName);
+        LogUtils.info("Entered first name: {}", firstName);
     }
 
     @When("user fills last name {string}")
     public void userFillsLastName(String lastName) {
         registrationPage.enterLastName(lastName);
-        LogUtils.info("Entered last name: " + lastName);
+        LogUtils.info("Entered last name: {}", lastName);
     }
 
     @When("user fills address {string}")
     public void userFillsAddress(String address) {
         registrationPage.enterAddress(address);
-        LogUtils.info("Entered address: " + address);
+        LogUtils.info("Entered address: {}", address);
     }
 
     @When("user fills city {string}")
     public void userFillsCity(String city) {
         registrationPage.enterCity(city);
-        LogUtils.info("Entered city: " + city);
+        LogUtils.info("Entered city: {}", city);
     }
 
     @When("user fills state {string}")
     public void userFillsState(String state) {
         registrationPage.enterState(state);
-        LogUtils.info("Entered state: " + state);
+        LogUtils.info("Entered state: {}", state);
     }
 
     @When("user fills zip code {string}")
     public void userFillsZipCode(String zipCode) {
         registrationPage.enterZipCode(zipCode);
-        LogUtils.info("Entered zip code: " + zipCode);
+        LogUtils.info("Entered zip code: {}", zipCode);
     }
 
     @When("user fills phone number {string}")
     public void userFillsPhoneNumber(String phone) {
         registrationPage.enterPhoneNumber(phone);
-        LogUtils.info("Entered phone number: " + phone);
+        LogUtils.info("Entered phone number: {}", phone);
     }
 
     @When("user fills SSN {string}")
@@ -73,7 +76,7 @@ public class RegistrationSteps {
     @When("user fills username {string}")
     public void userFillsUsername(String username) {
         registrationPage.enterUsername(username);
-        LogUtils.info("Entered username: " + username);
+        LogUtils.info("Entered username: {}", username);
     }
 
     @When("user fills password {string}")
@@ -98,6 +101,7 @@ public class RegistrationSteps {
     public void registrationShouldBeSuccessful() {
         boolean isSuccessMessageDisplayed = registrationPage.isSuccessMessageDisplayed();
         Assert.assertTrue(isSuccessMessageDisplayed, "Registration success message not displayed");
+        Assert.assertTrue(registrationPage.isErrorMessageAbsent(), "Registration page shows validation errors");
         LogUtils.info("Registration was successful");
     }
 
@@ -106,27 +110,22 @@ public class RegistrationSteps {
         String actualMessage = registrationPage.getSuccessMessage();
         Assert.assertTrue(actualMessage.contains(expectedMessage), 
             "Expected message not found. Expected: " + expectedMessage + ", Actual: " + actualMessage);
-        LogUtils.info("Message verified: " + actualMessage);
-    }
-
-    @Then("error message should be displayed {string}")
-    public void errorMessageShouldBeDisplayed(String expectedError) {
-        boolean isErrorDisplayed = registrationPage.isErrorMessageDisplayed();
-        Assert.assertTrue(isErrorDisplayed, "Error message not displayed. Expected: " + expectedError);
-        LogUtils.info("Error message displayed as expected");
+        LogUtils.info("Message verified: {}", actualMessage);
     }
 
     @When("user fills registration form with valid data")
     public void userFillsRegistrationFormWithValidData() {
-        registrationPage.enterFirstName("John");
-        registrationPage.enterLastName("Doe");
-        registrationPage.enterAddress("123 Main Street");
-        registrationPage.enterCity("New York");
-        registrationPage.enterState("NY");
-        registrationPage.enterZipCode("10001");
-        registrationPage.enterPhoneNumber("2125551234");
-        registrationPage.enterSSN("123456789");
-        registrationPage.enterUsername("johndoe");
+        Map<String, String> formData = new LinkedHashMap<>();
+        formData.put("firstName", "John");
+        formData.put("lastName", "Doe");
+        formData.put("address", "123 Main Street");
+        formData.put("city", "New York");
+        formData.put("state", "NY");
+        formData.put("zipCode", "10001");
+        formData.put("phoneNumber", "2125551234");
+        formData.put("ssn", "123456789");
+        formData.put("username", "johndoe");
+        registrationPage.fillForm(formData);
         LogUtils.info("Filled registration form with valid data");
     }
 
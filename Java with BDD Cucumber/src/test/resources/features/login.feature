@@ -1,3 +1,4 @@
+@liteBrowser
 Feature: ParaBank Login Functionality
   As a user
   I want to login to ParaBank application
@@ -1,3 +1,4 @@
+@liteBrowser
 Feature: ParaBank Registration
   As a new user
   I want to register for ParaBank